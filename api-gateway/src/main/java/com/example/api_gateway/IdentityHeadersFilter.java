@@ -0,0 +1,56 @@
+package com.example.api_gateway;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Forwards the verified caller to downstream services as X-User-Id and X-User-Name.
+ * Headers with those names sent by the client are always removed, so services can trust
+ * them without checking the token again, as long as they are only reachable through the
+ * gateway (docker-compose does not publish game-logic or game-results).
+ */
+@Component
+public class IdentityHeadersFilter implements GlobalFilter, Ordered {
+
+    public static final String USER_ID = "X-User-Id";
+    public static final String USER_NAME = "X-User-Name";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(context -> context.getAuthentication())
+                .filter(JwtAuthenticationToken.class::isInstance)
+                .map(authentication -> ((JwtAuthenticationToken) authentication).getToken())
+                .map(jwt -> withIdentity(exchange, jwt))
+                .defaultIfEmpty(withIdentity(exchange, null))
+                .flatMap(chain::filter);
+    }
+
+    private static ServerWebExchange withIdentity(ServerWebExchange exchange, Jwt jwt) {
+        return exchange.mutate()
+                .request(request -> request.headers(headers -> {
+                    headers.remove(USER_ID);
+                    headers.remove(USER_NAME);
+                    if (jwt != null) {
+                        headers.set(USER_ID, jwt.getSubject());
+                        String name = jwt.getClaimAsString("name");
+                        if (name != null) {
+                            headers.set(USER_NAME, name);
+                        }
+                    }
+                }))
+                .build();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -1,14 +1,20 @@
 package com.example.api_gateway;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsConfigurationSource;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
@@ -16,17 +22,50 @@ import java.util.List;
 @EnableWebFluxSecurity
 public class SecurityConfig {
 
+    /**
+     * Operator endpoints of game-results: dead letter replay, archive restore and the player
+     * stats and percentile rebuilds. There are no admin accounts, so they are never let
+     * through; operators call game-results directly inside the compose network.
+     */
+    static final String ADMIN_PATHS = "/api/results/admin/**";
+
+    @Value("${gateway.auth.required:false}")
+    private boolean authRequired;
+
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, ReactiveJwtDecoder jwtDecoder) {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
-                .authorizeExchange(exchanges -> exchanges
-                        .anyExchange().permitAll()
-                );
+                // A bearer token, when sent, must be valid; identity is then forwarded by IdentityHeadersFilter
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtDecoder(jwtDecoder)))
+                .authorizeExchange(exchanges -> {
+                    exchanges.pathMatchers(ADMIN_PATHS).denyAll();
+                    if (authRequired) {
+                        exchanges.pathMatchers("/api/auth/**", "/api/weather/**", "/actuator/**").permitAll()
+                                .anyExchange().authenticated();
+                    } else {
+                        exchanges.anyExchange().permitAll();
+                    }
+                });
         return http.build();
     }
 
+    /**
+     * Checks session tokens from auth-service locally: HS256 with the shared secret, no
+     * call to auth-service per request
+     */
+    @Bean
+    public ReactiveJwtDecoder jwtDecoder(@Value("${gateway.auth.token-secret}") String secret) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < 32) {
+            throw new IllegalStateException("gateway.auth.token-secret must be at least 32 bytes for HS256");
+        }
+        return NimbusReactiveJwtDecoder.withSecretKey(new SecretKeySpec(secretBytes, "HmacSHA256"))
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration cors = new CorsConfiguration();
@@ -0,0 +1,65 @@
+package com.example.api_gateway;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentityHeadersFilterTest {
+
+    private final IdentityHeadersFilter filter = new IdentityHeadersFilter();
+    private final AtomicReference<HttpHeaders> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange.getRequest().getHeaders());
+        return Mono.empty();
+    };
+
+    @Test
+    void filter_WithoutToken_ShouldRemoveSpoofedHeaders() {
+        // Arrange
+        MockServerWebExchange exchange = spoofedExchange();
+
+        // Act
+        filter.filter(exchange, chain).block();
+
+        // Assert
+        assertNull(forwarded.get().get(IdentityHeadersFilter.USER_ID));
+        assertNull(forwarded.get().get(IdentityHeadersFilter.USER_NAME));
+    }
+
+    @Test
+    void filter_WithToken_ShouldReplaceSpoofedHeadersWithTokenIdentity() {
+        // Arrange
+        MockServerWebExchange exchange = spoofedExchange();
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .subject("42")
+                .claim("name", "alice")
+                .build();
+
+        // Act
+        filter.filter(exchange, chain)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(new JwtAuthenticationToken(jwt)))
+                .block();
+
+        // Assert
+        assertEquals("42", forwarded.get().getFirst(IdentityHeadersFilter.USER_ID));
+        assertEquals("alice", forwarded.get().getFirst(IdentityHeadersFilter.USER_NAME));
+        assertEquals(1, forwarded.get().get(IdentityHeadersFilter.USER_NAME).size());
+    }
+
+    private static MockServerWebExchange spoofedExchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/game/start")
+                .header(IdentityHeadersFilter.USER_ID, "1")
+                .header(IdentityHeadersFilter.USER_NAME, "mallory"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.api_gateway;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.WebFilterChainProxy;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The gateway's access rules in front of a handler that counts the requests let through
+ */
+class SecurityConfigTest {
+
+    private static final String[] ADMIN_ENDPOINTS = {
+            "/api/results/admin/dead-letters/replay",
+            "/api/results/admin/archives/2024-01/restore",
+            "/api/results/admin/players/rebuild",
+            "/api/results/admin/percentiles/rebuild"
+    };
+
+    private final AtomicInteger passedThrough = new AtomicInteger();
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void adminPaths_WithoutToken_ShouldNotBeRouted(boolean authRequired) {
+        // Arrange
+        WebTestClient client = client(authRequired);
+
+        // Act & Assert
+        client.get().uri("/api/results/admin/dead-letters").exchange().expectStatus().isUnauthorized();
+        for (String endpoint : ADMIN_ENDPOINTS) {
+            client.post().uri(endpoint).exchange().expectStatus().isUnauthorized();
+        }
+        assertEquals(0, passedThrough.get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void adminPaths_WithValidToken_ShouldBeForbidden(boolean authRequired) throws Exception {
+        // Arrange
+        WebTestClient client = client(authRequired);
+        String token = SessionTokenDecoderTest.token(SessionTokenDecoderTest.SECRET, Instant.now().plusSeconds(900));
+
+        // Act & Assert
+        for (String endpoint : ADMIN_ENDPOINTS) {
+            client.post().uri(endpoint)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .exchange()
+                    .expectStatus().isForbidden();
+        }
+        assertEquals(0, passedThrough.get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void resultPaths_WithoutToken_ShouldFollowTheAuthMode(boolean authRequired) {
+        // Arrange
+        WebTestClient client = client(authRequired);
+
+        // Act
+        WebTestClient.ResponseSpec response = client.get().uri("/api/results/leaderboard").exchange();
+
+        // Assert
+        if (authRequired) {
+            response.expectStatus().isUnauthorized();
+        } else {
+            response.expectStatus().isOk();
+        }
+    }
+
+    private WebTestClient client(boolean authRequired) {
+        SecurityConfig securityConfig = new SecurityConfig();
+        ReflectionTestUtils.setField(securityConfig, "authRequired", authRequired);
+        var chain = securityConfig.securityWebFilterChain(ServerHttpSecurity.http(),
+                securityConfig.jwtDecoder(SessionTokenDecoderTest.SECRET));
+        return WebTestClient.bindToWebHandler(exchange -> {
+                    passedThrough.incrementAndGet();
+                    return exchange.getResponse().setComplete();
+                })
+                .webFilter(new WebFilterChainProxy(chain))
+                .build();
+    }
+}
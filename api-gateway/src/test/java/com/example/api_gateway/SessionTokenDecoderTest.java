@@ -0,0 +1,92 @@
+package com.example.api_gateway;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tokens as auth-service issues them (HS256, sub = user id, name = username) checked by
+ * the gateway's decoder.
+ */
+class SessionTokenDecoderTest {
+
+    static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final ReactiveJwtDecoder decoder = new SecurityConfig().jwtDecoder(SECRET);
+
+    @Test
+    void decode_ValidToken_ShouldReturnIdentity() throws Exception {
+        // Arrange
+        String token = token(SECRET, Instant.now().plusSeconds(900));
+
+        // Act
+        Jwt jwt = decoder.decode(token).block();
+
+        // Assert
+        assertNotNull(jwt);
+        assertEquals("42", jwt.getSubject());
+        assertEquals("alice", jwt.getClaimAsString("name"));
+    }
+
+    @Test
+    void decode_ExpiredToken_ShouldBeRejected() throws Exception {
+        // Arrange (well past the decoder's 60 s clock skew)
+        String token = token(SECRET, Instant.now().minusSeconds(300));
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> decoder.decode(token).block());
+    }
+
+    @Test
+    void decode_TokenSignedWithOtherSecret_ShouldBeRejected() throws Exception {
+        // Arrange
+        String token = token("another-secret-of-at-least-32-bytes!", Instant.now().plusSeconds(900));
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> decoder.decode(token).block());
+    }
+
+    @Test
+    void decode_TamperedClaims_ShouldBeRejected() throws Exception {
+        // Arrange: keep the signature, swap in claims for another user
+        String[] parts = token(SECRET, Instant.now().plusSeconds(900)).split("\\.");
+        String otherClaims = token(SECRET, Instant.now().plusSeconds(900), "1", "admin").split("\\.")[1];
+        String token = parts[0] + "." + otherClaims + "." + parts[2];
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> decoder.decode(token).block());
+    }
+
+    @Test
+    void jwtDecoder_ShouldRejectShortSecret() {
+        assertThrows(IllegalStateException.class, () -> new SecurityConfig().jwtDecoder("too-short"));
+    }
+
+    static String token(String secret, Instant expiresAt) throws Exception {
+        return token(secret, expiresAt, "42", "alice");
+    }
+
+    private static String token(String secret, Instant expiresAt, String userId, String username) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(userId)
+                .claim("name", username)
+                .issueTime(Date.from(expiresAt.minusSeconds(900)))
+                .expirationTime(Date.from(expiresAt))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(secret.getBytes(StandardCharsets.UTF_8)));
+        return jwt.serialize();
+    }
+}
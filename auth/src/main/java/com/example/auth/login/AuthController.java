@@ -1,5 +1,7 @@
 package com.example.auth.login;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -8,9 +10,11 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final SessionTokens sessionTokens;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, SessionTokens sessionTokens) {
         this.authService = authService;
+        this.sessionTokens = sessionTokens;
     }
 
     @GetMapping("/check-username")
@@ -31,7 +35,9 @@ public class AuthController {
             }
 
             User user = authService.register(request.getUsername().trim(), request.getPassword());
-            return ResponseEntity.ok(new LoginResponse(user.getId(), user.getUsername()));
+            return ResponseEntity.ok(loginResponse(user));
+        } catch (HashingBusyException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -41,9 +47,22 @@ public class AuthController {
     public ResponseEntity<?> login(@RequestBody LoginRequest request) {
         try {
             User user = authService.login(request.getUsername(), request.getPassword());
-            return ResponseEntity.ok(new LoginResponse(user.getId(), user.getUsername()));
+            return ResponseEntity.ok(loginResponse(user));
+        } catch (HashingBusyException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private LoginResponse loginResponse(User user) {
+        SessionTokens.SessionToken token = sessionTokens.issue(user);
+        return new LoginResponse(user.getId(), user.getUsername(), token.token(), token.expiresAt());
+    }
+
+    private ResponseEntity<String> busy(HashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+}
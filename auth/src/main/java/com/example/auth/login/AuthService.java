@@ -1,17 +1,18 @@
 package com.example.auth.login;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AuthService {
 
     private final UserRepo userRepo;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final UsernameFilter usernameFilter;
 
-    public AuthService(UserRepo userRepo) {
+    public AuthService(UserRepo userRepo, PasswordHasher passwordHasher, UsernameFilter usernameFilter) {
         this.userRepo = userRepo;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.passwordHasher = passwordHasher;
+        this.usernameFilter = usernameFilter;
     }
 
     public User register(String username, String password) {
@@ -21,22 +22,26 @@ public class AuthService {
 
         User user = new User();
         user.setUsername(username);
-        user.setPassword(passwordEncoder.encode(password)); // Hash the password
+        user.setPassword(passwordHasher.encode(password)); // Hash the password
 
-        return userRepo.save(user);
+        User saved = userRepo.save(user);
+        usernameFilter.add(saved.getUsername());
+        return saved;
     }
 
     public User login(String username, String password) {
         User user = userRepo.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        if (!passwordHasher.matches(password, user.getPassword())) {
             throw new RuntimeException("Invalid password");
         }
 
         return user;
     }
+
     public boolean isUsernameAvailable(String username) {
-        return !userRepo.existsByUsername(username);
+        // Only names the filter might have seen need the database
+        return !usernameFilter.mightExist(username) || !userRepo.existsByUsername(username);
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.example.auth.login;
+
+/**
+ * Thrown when the password hashing executor has no room for more work
+ */
+public class HashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public HashingBusyException(long retryAfterSeconds) {
+        super("Too many login attempts right now, please try again shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -8,4 +8,6 @@ import lombok.*;
 class LoginResponse {
     private Long userId;
     private String username;
+    private String token;   // send as "Authorization: Bearer <token>" through the gateway
+    private long expiresAt; // token expiry, epoch seconds
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.example.auth.login;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt on a fixed pool of one thread per core with a bounded queue, so a burst of
+ * logins can only keep that many request threads busy. When the queue is full the caller
+ * gets a HashingBusyException straight away instead of waiting.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+
+    private final Timer encodeLatency;
+    private final Timer matchesLatency;
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    @Autowired
+    public PasswordHasher(MeterRegistry meterRegistry,
+                          @Value("${auth.hashing.threads:0}") int threads,
+                          @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${auth.hashing.timeout-ms:10000}") long timeoutMillis,
+                          @Value("${auth.hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        this(new BCryptPasswordEncoder(), meterRegistry, threads, queueCapacity, timeoutMillis, retryAfterSeconds);
+    }
+
+    /**
+     * @param threads hashing threads, 0 for one per available processor
+     */
+    public PasswordHasher(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry, int threads,
+                          int queueCapacity, long timeoutMillis, long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.passwordEncoder = passwordEncoder;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        this.encodeLatency = Timer.builder("auth.password.hash.latency").tag("operation", "encode").register(meterRegistry);
+        this.matchesLatency = Timer.builder("auth.password.hash.latency").tag("operation", "matches").register(meterRegistry);
+        this.queueWait = Timer.builder("auth.password.hash.queue.wait").register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.hash.rejected").register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    /**
+     * @throws HashingBusyException if the hashing queue is full
+     */
+    public String encode(String rawPassword) {
+        return run(encodeLatency, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * @throws HashingBusyException if the hashing queue is full
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(matchesLatency, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Timer latency, Callable<T> hashing) {
+        long submittedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return latency.recordCallable(hashing);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new HashingBusyException(retryAfterSeconds);
+        }
+
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            rejected.increment();
+            throw new HashingBusyException(retryAfterSeconds);
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+    }
+}
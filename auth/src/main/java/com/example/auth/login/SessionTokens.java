@@ -0,0 +1,73 @@
+package com.example.auth.login;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Issues short-lived session tokens: JWTs signed with HMAC-SHA256 using a secret shared
+ * with the gateway, which checks them locally. Subject is the user ID, "name" the username.
+ */
+@Component
+public class SessionTokens {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String HEADER = base64Url("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final ObjectMapper objectMapper;
+
+    public SessionTokens(@Value("${auth.tokens.secret}") String secret,
+                         @Value("${auth.tokens.ttl-seconds:900}") long ttlSeconds,
+                         ObjectMapper objectMapper) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < 32) {
+            throw new IllegalStateException("auth.tokens.secret must be at least 32 bytes for HS256");
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Signed token for the user, valid for ttl-seconds from now
+     */
+    public SessionToken issue(User user) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plusSeconds(ttlSeconds);
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", String.valueOf(user.getId()));
+        claims.put("name", user.getUsername());
+        claims.put("iat", now.getEpochSecond());
+        claims.put("exp", expiresAt.getEpochSecond());
+
+        try {
+            String signingInput = HEADER + "." + base64Url(objectMapper.writeValueAsBytes(claims));
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            String signature = base64Url(mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII)));
+            return new SessionToken(signingInput + "." + signature, expiresAt.getEpochSecond());
+        } catch (JsonProcessingException | GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign session token", e);
+        }
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public record SessionToken(String token, long expiresAt) {
+    }
+}
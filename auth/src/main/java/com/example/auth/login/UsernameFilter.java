@@ -0,0 +1,128 @@
+package com.example.auth.login;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of taken usernames, loaded from users at startup and added to on register.
+ * mightExist never answers false for a stored name, so a false means the name is free
+ * without asking the database; a true may be a false positive (about false-positive-rate
+ * of free names) and has to be checked. Names registered by another auth instance are only
+ * seen after a restart, which register's own check covers.
+ */
+@Component
+public class UsernameFilter {
+
+    private final UserRepo userRepo;
+    private final int expectedUsers;
+    private final double falsePositiveRate;
+    private volatile Bits bits;
+    private volatile boolean loaded;
+
+    public UsernameFilter(UserRepo userRepo,
+                          @Value("${auth.usernames.filter.expected-users:1000000}") int expectedUsers,
+                          @Value("${auth.usernames.filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepo = userRepo;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Build the filter from every stored username, sized for twice the current users if
+     * that is more than expected-users
+     */
+    @PostConstruct
+    public void load() {
+        long users = userRepo.count();
+        bits = new Bits((int) Math.min(Integer.MAX_VALUE, Math.max(expectedUsers, 2 * users)), falsePositiveRate);
+        List<String> usernames = userRepo.findAllUsernames();
+        usernames.forEach(this::add);
+        loaded = true;
+        System.out.println("Username filter loaded " + usernames.size() + " usernames into "
+                + bits.size() + " bits with " + bits.hashes() + " hashes");
+    }
+
+    /**
+     * False if no user has this name; true if one might (always true until loaded)
+     */
+    public boolean mightExist(String username) {
+        return !loaded || bits.contains(username);
+    }
+
+    public void add(String username) {
+        Bits current = bits;
+        if (current != null) {
+            current.add(username);
+        }
+    }
+
+    /** Bit array and hash count for n entries at false positive rate p */
+    private static final class Bits {
+
+        private final AtomicLongArray words;
+        private final long size;
+        private final int hashes;
+
+        Bits(int n, double p) {
+            long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.max(1, (m + 63) / 64));
+            this.size = words.length() * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) size / n * Math.log(2)));
+        }
+
+        long size() {
+            return size;
+        }
+
+        int hashes() {
+            return hashes;
+        }
+
+        void add(String value) {
+            long h1 = hash(value);
+            long h2 = mix(h1) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                long mask = 1L << bit;
+                int word = (int) (bit >>> 6);
+                if ((words.get(word) & mask) == 0) {
+                    words.accumulateAndGet(word, mask, (a, b) -> a | b);
+                }
+            }
+        }
+
+        boolean contains(String value) {
+            long h1 = hash(value);
+            long h2 = mix(h1) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** 64-bit FNV-1a over the UTF-8 bytes, finished with a mix so low bits are spread */
+        private static long hash(String value) {
+            long h = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                h ^= b & 0xff;
+                h *= 0x100000001b3L;
+            }
+            return mix(h);
+        }
+
+        /** SplitMix64 finalizer */
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.auth;
+
+import com.example.auth.login.HashingBusyException;
+import com.example.auth.login.PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /** Encoder that holds every hash until release is counted down */
+    private final PasswordEncoder slowEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    private final PasswordHasher passwordHasher = new PasswordHasher(slowEncoder, meterRegistry, 1, 1, 5000, 3);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void encode_ShouldRunOnHashingPool() {
+        // Arrange
+        release.countDown();
+
+        // Act
+        String hash = passwordHasher.encode("secret");
+
+        // Assert
+        assertEquals("hashed:secret", hash);
+        assertTrue(passwordHasher.matches("secret", hash));
+        assertEquals(1, meterRegistry.get("auth.password.hash.latency").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void encode_ShouldRejectImmediately_WhenQueueIsFull() throws Exception {
+        // Arrange: one hash running, one waiting in the queue of one
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHasher.encode("second"));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("auth.password.hash.queue.depth").gauge().value() < 1) {
+            assertTrue(System.currentTimeMillis() < deadline, "second hash never queued");
+            Thread.sleep(10);
+        }
+
+        // Act
+        HashingBusyException exception = assertThrows(HashingBusyException.class, () -> passwordHasher.encode("third"));
+
+        // Assert
+        assertEquals(3, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.password.hash.rejected").counter().count());
+        release.countDown();
+        assertEquals("hashed:first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed:second", queued.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.auth;
+
+import com.example.auth.login.SessionTokens;
+import com.example.auth.login.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionTokensTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SessionTokens sessionTokens = new SessionTokens(SECRET, 900, objectMapper);
+
+    @Test
+    void issue_ShouldSignClaimsWithSharedSecret() throws Exception {
+        // Arrange
+        User user = new User(42L, "alice", "hashed");
+
+        // Act
+        SessionTokens.SessionToken token = sessionTokens.issue(user);
+
+        // Assert
+        String[] parts = token.token().split("\\.");
+        assertEquals(3, parts.length);
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] expected = mac.doFinal((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+        assertArrayEquals(expected, Base64.getUrlDecoder().decode(parts[2]));
+
+        JsonNode header = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[0]));
+        assertEquals("HS256", header.get("alg").asText());
+
+        JsonNode claims = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+        assertEquals("42", claims.get("sub").asText());
+        assertEquals("alice", claims.get("name").asText());
+        assertEquals(token.expiresAt(), claims.get("exp").asLong());
+        assertEquals(900, claims.get("exp").asLong() - claims.get("iat").asLong());
+        assertTrue(token.expiresAt() > Instant.now().getEpochSecond());
+    }
+
+    @Test
+    void constructor_ShouldRejectShortSecret() {
+        assertThrows(IllegalStateException.class, () -> new SessionTokens("too-short", 900, objectMapper));
+    }
+}
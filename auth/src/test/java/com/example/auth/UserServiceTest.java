@@ -1,14 +1,15 @@
 package com.example.auth;
 
 import com.example.auth.login.AuthService;
+import com.example.auth.login.PasswordHasher;
 import com.example.auth.login.User;
 import com.example.auth.login.UserRepo;
+import com.example.auth.login.UsernameFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -19,7 +20,10 @@ class UserServiceTest {
     private UserRepo userRepo;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private UsernameFilter usernameFilter;
 
     @InjectMocks
     private AuthService authService; // Assuming your method is in UserService
@@ -37,7 +41,7 @@ class UserServiceTest {
         String encodedPassword = "encodedPassword";
 
         when(userRepo.existsByUsername(username)).thenReturn(false);
-        when(passwordEncoder.encode(password)).thenReturn(encodedPassword);
+        when(passwordHasher.encode(password)).thenReturn(encodedPassword);
 
         User savedUser = new User();
         savedUser.setUsername(username);
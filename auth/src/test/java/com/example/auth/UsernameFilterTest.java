@@ -0,0 +1,71 @@
+package com.example.auth;
+
+import com.example.auth.login.UserRepo;
+import com.example.auth.login.UsernameFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UsernameFilterTest {
+
+    private static final int USERS = 10_000;
+
+    @Test
+    void mightExist_ShouldFindEveryStoredAndRegisteredName() {
+        // Arrange
+        List<String> stored = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            stored.add("user" + i);
+        }
+        UsernameFilter filter = loadedFilter(stored);
+
+        // Act
+        filter.add("registered-later");
+
+        // Assert
+        for (String username : stored) {
+            assertTrue(filter.mightExist(username), username);
+        }
+        assertTrue(filter.mightExist("registered-later"));
+    }
+
+    @Test
+    void mightExist_ShouldRarelyMatchFreeNames() {
+        // Arrange
+        List<String> stored = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            stored.add("user" + i);
+        }
+        UsernameFilter filter = loadedFilter(stored);
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < USERS; i++) {
+            if (filter.mightExist("free" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert (configured for 1%)
+        assertTrue(falsePositives < USERS * 0.02, falsePositives + " false positives");
+    }
+
+    @Test
+    void mightExist_ShouldBeTrueUntilLoaded() {
+        UsernameFilter filter = new UsernameFilter(mock(UserRepo.class), USERS, 0.01);
+        assertTrue(filter.mightExist("anyone"));
+    }
+
+    private static UsernameFilter loadedFilter(List<String> usernames) {
+        UserRepo userRepo = mock(UserRepo.class);
+        when(userRepo.count()).thenReturn((long) usernames.size());
+        when(userRepo.findAllUsernames()).thenReturn(usernames);
+        UsernameFilter filter = new UsernameFilter(userRepo, USERS, 0.01);
+        filter.load();
+        return filter;
+    }
+}
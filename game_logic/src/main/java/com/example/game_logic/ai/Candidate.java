@@ -0,0 +1,23 @@
+package com.example.game_logic.ai;
+
+/**
+ * One computer action evaluated by the rollouts.
+ *
+ * @param fromOpenTable take the top open table card (the card value is then the top score)
+ * @param card          score of the card to place, or {@link Rollouts#FROM_DECK} to draw the next sampled deck card
+ * @param swapIndex     hand index to replace, {@link Rollouts#DISCARD}, or {@link Rollouts#GREEDY_SWAP}
+ */
+record Candidate(boolean fromOpenTable, int card, int swapIndex) {
+
+    static Candidate openTable(int topScore) {
+        return new Candidate(true, topScore, Rollouts.GREEDY_SWAP);
+    }
+
+    static Candidate mainDeck() {
+        return new Candidate(false, Rollouts.FROM_DECK, Rollouts.GREEDY_SWAP);
+    }
+
+    static Candidate place(int drawnScore, int swapIndex) {
+        return new Candidate(false, drawnScore, swapIndex);
+    }
+}
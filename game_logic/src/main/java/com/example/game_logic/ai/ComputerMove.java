@@ -0,0 +1,10 @@
+package com.example.game_logic.ai;
+
+/**
+ * A complete computer turn decided ahead of applying it to the decks.
+ *
+ * @param fromOpenTable take the top open table card instead of drawing from the main deck
+ * @param swapIndex     hand index the drawn card replaces, or -1 to discard it
+ */
+public record ComputerMove(boolean fromOpenTable, int swapIndex) {
+}
@@ -0,0 +1,31 @@
+package com.example.game_logic.ai;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Looks up the strategy bean for a game's difficulty. EASY has no bean,
+ * its rule lives in GameStateService.
+ */
+@Component
+public class ComputerStrategies {
+
+    private final Map<Difficulty, ComputerStrategy> strategies = new EnumMap<>(Difficulty.class);
+
+    public ComputerStrategies(List<ComputerStrategy> strategies) {
+        for (ComputerStrategy strategy : strategies) {
+            this.strategies.put(strategy.difficulty(), strategy);
+        }
+    }
+
+    public ComputerStrategy forDifficulty(Difficulty difficulty) {
+        ComputerStrategy strategy = strategies.get(difficulty);
+        if (strategy == null) {
+            throw new IllegalStateException("No computer strategy for difficulty: " + difficulty);
+        }
+        return strategy;
+    }
+}
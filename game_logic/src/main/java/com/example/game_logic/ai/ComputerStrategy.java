@@ -0,0 +1,38 @@
+package com.example.game_logic.ai;
+
+/**
+ * Decision rules for one computer difficulty. A turn is two decisions: where to draw from,
+ * and what to do with the drawn card. Implementations must not touch the database.
+ */
+public interface ComputerStrategy {
+
+    Difficulty difficulty();
+
+    /**
+     * Whether to take the top open table card instead of drawing from the main deck.
+     * Only called when the open table is not empty.
+     */
+    boolean takeOpenTableCard(ComputerView view);
+
+    /**
+     * Hand index to replace with the drawn card, or -1 to discard it to the open table.
+     */
+    int chooseSwapIndex(ComputerView view, int drawnScore);
+
+    /**
+     * Decide the whole turn. The server knows the next main deck card, but it is only
+     * passed to the swap decision once the strategy has committed to drawing it.
+     *
+     * @param nextDeckScore score of the top main deck card, or null when the deck is empty
+     */
+    default ComputerMove planMove(ComputerView view, Integer nextDeckScore) {
+        if (view.hasOpenTableCard() && takeOpenTableCard(view)) {
+            int drawnScore = view.topOpenTableScore();
+            return new ComputerMove(true, chooseSwapIndex(view.afterTakingOpenTableCard(), drawnScore));
+        }
+        if (nextDeckScore == null) {
+            return new ComputerMove(false, -1);
+        }
+        return new ComputerMove(false, chooseSwapIndex(view.afterDrawingFromDeck(nextDeckScore), nextDeckScore));
+    }
+}
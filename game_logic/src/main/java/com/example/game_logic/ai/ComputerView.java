@@ -0,0 +1,54 @@
+package com.example.game_logic.ai;
+
+import java.util.Arrays;
+
+/**
+ * Everything the computer is allowed to know at a decision point, reduced to card scores.
+ * Unseen cards are the main deck plus the player's hand; their order is not known.
+ */
+public record ComputerView(int[] handScores, int[] openTableScores, int[] unseenScores, int mainDeckSize) {
+
+    public boolean hasOpenTableCard() {
+        return openTableScores.length > 0;
+    }
+
+    public int topOpenTableScore() {
+        return openTableScores[openTableScores.length - 1];
+    }
+
+    public int playerHandSize() {
+        return unseenScores.length - mainDeckSize;
+    }
+
+    /**
+     * Index of the worst (highest score) card in hand, first one wins on ties
+     */
+    public int worstHandIndex() {
+        return Rollouts.worstIndex(handScores);
+    }
+
+    /**
+     * View after the computer picked up the top open table card
+     */
+    public ComputerView afterTakingOpenTableCard() {
+        return new ComputerView(handScores, Arrays.copyOf(openTableScores, openTableScores.length - 1),
+                unseenScores, mainDeckSize);
+    }
+
+    /**
+     * View after the computer drew a card with the given score from the main deck
+     */
+    public ComputerView afterDrawingFromDeck(int drawnScore) {
+        int[] unseen = new int[unseenScores.length - 1];
+        int j = 0;
+        boolean removed = false;
+        for (int score : unseenScores) {
+            if (!removed && score == drawnScore) {
+                removed = true;
+            } else if (j < unseen.length) {
+                unseen[j++] = score;
+            }
+        }
+        return new ComputerView(handScores, openTableScores, unseen, Math.max(0, mainDeckSize - 1));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.game_logic.ai;
+
+/**
+ * Computer opponent strength, chosen per game when it is started.
+ */
+public enum Difficulty {
+    EASY,   // greedy "replace the worst card" rule
+    HARD,   // Monte Carlo rollouts over the unseen cards
+    EXPERT  // precomputed policy table, see PolicyTableGenerator
+}
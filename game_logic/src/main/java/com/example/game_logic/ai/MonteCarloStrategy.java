@@ -0,0 +1,231 @@
+package com.example.game_logic.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+
+/**
+ * HARD computer: samples orders of the unseen cards and scores every option by parallel
+ * playouts on the shared search pool. Each decision has a strict time budget, and at most
+ * a fixed number of searches run at once; when the budget or the cap is hit the computer
+ * falls back to the EASY rule instead of making the request wait.
+ */
+@Component
+public class MonteCarloStrategy implements ComputerStrategy {
+
+    private static final long JOIN_GRACE_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    /** Fewer samples than this are too noisy to beat the EASY rule (one sample picks wrong ~1 in 5) */
+    private static final int MIN_ROLLOUTS = 256;
+
+    private final ForkJoinPool searchPool;
+    private final Semaphore searchPermits;
+    private final long timeBudgetNanos;
+    private final int maxRollouts;
+
+    private final Timer drawLatency;
+    private final Timer swapLatency;
+    private final DistributionSummary rollouts;
+    private final Counter busyFallbacks;
+    private final Counter timeoutFallbacks;
+
+    public MonteCarloStrategy(ForkJoinPool computerSearchPool,
+                              MeterRegistry meterRegistry,
+                              @Value("${game.ai.monte-carlo.time-budget-ms:50}") long timeBudgetMs,
+                              @Value("${game.ai.monte-carlo.max-rollouts:20000}") int maxRollouts,
+                              @Value("${game.ai.monte-carlo.max-concurrent-searches:2}") int maxConcurrentSearches) {
+        this.searchPool = computerSearchPool;
+        this.searchPermits = new Semaphore(maxConcurrentSearches);
+        this.timeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+        this.maxRollouts = maxRollouts;
+
+        this.drawLatency = Timer.builder("game.ai.move.latency")
+                .description("Time spent deciding one computer move")
+                .tag("difficulty", Difficulty.HARD.name())
+                .tag("decision", "draw")
+                .register(meterRegistry);
+        this.swapLatency = Timer.builder("game.ai.move.latency")
+                .description("Time spent deciding one computer move")
+                .tag("difficulty", Difficulty.HARD.name())
+                .tag("decision", "swap")
+                .register(meterRegistry);
+        this.rollouts = DistributionSummary.builder("game.ai.rollouts")
+                .description("Sampled deck orders evaluated per computer move")
+                .tag("difficulty", Difficulty.HARD.name())
+                .register(meterRegistry);
+        this.busyFallbacks = Counter.builder("game.ai.fallbacks")
+                .description("Moves decided by the EASY rule because the search could not run")
+                .tag("reason", "busy")
+                .register(meterRegistry);
+        this.timeoutFallbacks = Counter.builder("game.ai.fallbacks")
+                .description("Moves decided by the EASY rule because the search could not run")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Difficulty difficulty() {
+        return Difficulty.HARD;
+    }
+
+    @Override
+    public boolean takeOpenTableCard(ComputerView view) {
+        int top = view.topOpenTableScore();
+        boolean greedy = top < view.handScores()[view.worstHandIndex()];
+        if (view.mainDeckSize() == 0) {
+            return greedy; // nothing left to sample
+        }
+
+        List<Candidate> candidates = List.of(Candidate.openTable(top), Candidate.mainDeck());
+        int best = search(view, candidates, greedy ? 0 : 1, drawLatency);
+        return best == 0;
+    }
+
+    @Override
+    public int chooseSwapIndex(ComputerView view, int drawnScore) {
+        int[] hand = view.handScores();
+        int greedy = Rollouts.greedySwapIndex(hand, drawnScore);
+        if (view.mainDeckSize() == 0) {
+            return greedy; // last move of the game, nothing left to simulate
+        }
+
+        // One candidate per distinct hand score, swapping equal cards gives the same outcome
+        List<Candidate> candidates = new ArrayList<>();
+        List<Integer> swapIndexes = new ArrayList<>();
+        candidates.add(Candidate.place(drawnScore, Rollouts.DISCARD));
+        swapIndexes.add(Rollouts.DISCARD);
+        for (int i = 0; i < hand.length; i++) {
+            if (hand[i] != drawnScore && !containsScore(hand, i, hand[i])) {
+                candidates.add(Candidate.place(drawnScore, i));
+                swapIndexes.add(i);
+            }
+        }
+
+        int best = search(view, candidates, swapIndexes.indexOf(greedy), swapLatency);
+        return swapIndexes.get(best);
+    }
+
+    /**
+     * Run the rollouts within the time budget and return the index of the candidate
+     * with the lowest average final margin, or the fallback index if the search did not run
+     * or finished too few samples to trust.
+     */
+    private int search(ComputerView view, List<Candidate> candidates, int fallbackIndex, Timer latency) {
+        if (candidates.size() < 2) {
+            return fallbackIndex;
+        }
+        long start = System.nanoTime();
+        if (!searchPermits.tryAcquire()) {
+            busyFallbacks.increment();
+            return fallbackIndex;
+        }
+        try {
+            long seed = ThreadLocalRandom.current().nextLong();
+            RolloutTask task = new RolloutTask(view, candidates, 0, maxRollouts, start + timeBudgetNanos, seed);
+            long[] totals;
+            try {
+                totals = searchPool.submit(task).get(timeBudgetNanos + JOIN_GRACE_NANOS, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                task.cancel(true);
+                timeoutFallbacks.increment();
+                return fallbackIndex;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return fallbackIndex;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Computer search failed", e.getCause());
+            }
+
+            long samples = totals[candidates.size()];
+            rollouts.record(samples);
+            if (samples < Math.min(MIN_ROLLOUTS, maxRollouts)) {
+                timeoutFallbacks.increment();
+                return fallbackIndex;
+            }
+            int best = fallbackIndex;
+            for (int i = 0; i < candidates.size(); i++) {
+                if (totals[i] < totals[best]) {
+                    best = i;
+                }
+            }
+            return best;
+        } finally {
+            searchPermits.release();
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static boolean containsScore(int[] hand, int before, int score) {
+        for (int i = 0; i < before; i++) {
+            if (hand[i] == score) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sums the playout margins of every candidate over a range of samples. All candidates
+     * are played against the same sampled deck so their difference has low variance.
+     * The last slot of the result holds the number of samples that finished before the deadline.
+     */
+    private static final class RolloutTask extends RecursiveTask<long[]> {
+
+        private static final int LEAF_SAMPLES = 32;
+
+        private final ComputerView view;
+        private final List<Candidate> candidates;
+        private final int from;
+        private final int to;
+        private final long deadline;
+        private final long seed;
+
+        RolloutTask(ComputerView view, List<Candidate> candidates, int from, int to, long deadline, long seed) {
+            this.view = view;
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.deadline = deadline;
+            this.seed = seed;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (System.nanoTime() >= deadline) {
+                return new long[candidates.size() + 1]; // out of time, don't split any further
+            }
+            if (to - from > LEAF_SAMPLES) {
+                int mid = (from + to) >>> 1;
+                RolloutTask left = new RolloutTask(view, candidates, from, mid, deadline, seed);
+                left.fork();
+                long[] right = new RolloutTask(view, candidates, mid, to, deadline, seed).compute();
+                long[] totals = left.join();
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += right[i];
+                }
+                return totals;
+            }
+
+            long[] totals = new long[candidates.size() + 1];
+            int[] unseen = view.unseenScores();
+            int[] sample = new int[unseen.length];
+            SplittableRandom random = new SplittableRandom(seed + from);
+            for (int i = from; i < to && System.nanoTime() < deadline; i++) {
+                System.arraycopy(unseen, 0, sample, 0, unseen.length);
+                Rollouts.shuffle(sample, random);
+                for (int c = 0; c < candidates.size(); c++) {
+                    totals[c] += Rollouts.playOut(view, sample, candidates.get(c));
+                }
+                totals[candidates.size()]++;
+            }
+            return totals;
+        }
+    }
+}
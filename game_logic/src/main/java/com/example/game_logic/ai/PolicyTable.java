@@ -0,0 +1,155 @@
+package com.example.game_logic.ai;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Precomputed computer decisions for every canonical state, stored as one byte per
+ * (deck bucket, sorted hand, card) entry. The low three bits hold the swap decision when
+ * that card is the drawn card (position in the sorted hand, or {@link #DISCARD_POSITION});
+ * bit 3 is set when the computer should take that card from the top of the open table.
+ *
+ * File layout: magic, bucket count, hand combinations, score classes (all ints), then the entries.
+ */
+public final class PolicyTable {
+
+    public static final int MAGIC = 0x41505431; // "APT1"
+
+    /** Every distinct card score, see CardService.calculateCardScore */
+    static final int[] SCORE_CLASSES = {-10, -5, 0, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+    /** How many cards of a full deck have each score class */
+    static final int[] CLASS_COUNTS = {2, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 10};
+    /** Main deck sizes at which a new bucket starts */
+    static final int[] BUCKET_STARTS = {0, 8, 20, 32};
+    /** Deck size used when generating each bucket */
+    static final int[] BUCKET_DECK_SIZES = {4, 14, 26, 38};
+
+    static final int HAND_SIZE = 4;
+    static final int HAND_COMBOS = 1365; // multisets of 4 out of 12 classes, C(15, 4)
+    static final int DISCARD_POSITION = 4;
+    static final int TAKE_FLAG = 0x08;
+
+    private final byte[] entries;
+
+    PolicyTable(byte[] entries) {
+        if (entries.length != BUCKET_STARTS.length * HAND_COMBOS * SCORE_CLASSES.length) {
+            throw new IllegalArgumentException("Policy table has " + entries.length + " entries");
+        }
+        this.entries = entries;
+    }
+
+    public static PolicyTable read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a policy table");
+        }
+        int buckets = data.readInt();
+        int handCombos = data.readInt();
+        int scoreClasses = data.readInt();
+        if (buckets != BUCKET_STARTS.length || handCombos != HAND_COMBOS || scoreClasses != SCORE_CLASSES.length) {
+            throw new IOException("Policy table dimensions do not match this build");
+        }
+        byte[] entries = new byte[buckets * handCombos * scoreClasses];
+        data.readFully(entries);
+        return new PolicyTable(entries);
+    }
+
+    void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(BUCKET_STARTS.length);
+        data.writeInt(HAND_COMBOS);
+        data.writeInt(SCORE_CLASSES.length);
+        data.write(entries);
+        data.flush();
+    }
+
+    /**
+     * Whether to take the top open table card, O(1)
+     */
+    public boolean takeOpenTableCard(int[] handScores, int topScore, int mainDeckSize) {
+        int[] sorted = sortedClasses(handScores);
+        return (entries[index(bucket(mainDeckSize), handRank(sorted), scoreClass(topScore))] & TAKE_FLAG) != 0;
+    }
+
+    /**
+     * Hand index to replace with the drawn card, or -1 to discard, O(1)
+     */
+    public int chooseSwapIndex(int[] handScores, int drawnScore, int mainDeckSize) {
+        int[] sorted = sortedClasses(handScores);
+        int position = entries[index(bucket(mainDeckSize), handRank(sorted), scoreClass(drawnScore))] & 0x07;
+        if (position >= HAND_SIZE) {
+            return -1;
+        }
+        // Map the position in the sorted hand back to a real hand index with that score
+        int wanted = SCORE_CLASSES[sorted[position]];
+        for (int i = 0; i < handScores.length; i++) {
+            if (handScores[i] == wanted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int index(int bucket, int handRank, int cardClass) {
+        return (bucket * HAND_COMBOS + handRank) * SCORE_CLASSES.length + cardClass;
+    }
+
+    static int scoreClass(int score) {
+        return switch (score) {
+            case -10 -> 0;
+            case -5 -> 1;
+            case 0 -> 2;
+            default -> {
+                if (score < 2 || score > 10) {
+                    throw new IllegalArgumentException("Unknown card score: " + score);
+                }
+                yield score + 1;
+            }
+        };
+    }
+
+    static int bucket(int mainDeckSize) {
+        int bucket = 0;
+        while (bucket + 1 < BUCKET_STARTS.length && mainDeckSize >= BUCKET_STARTS[bucket + 1]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    static int[] sortedClasses(int[] handScores) {
+        int[] classes = new int[handScores.length];
+        for (int i = 0; i < handScores.length; i++) {
+            classes[i] = scoreClass(handScores[i]);
+        }
+        Arrays.sort(classes);
+        return classes;
+    }
+
+    /**
+     * Colex rank of a sorted 4-card multiset: shifting the i-th class by i turns it into
+     * a strictly increasing combination of 4 out of 15, ranked by the combinatorial number system.
+     */
+    static int handRank(int[] sortedClasses) {
+        int rank = 0;
+        for (int i = 0; i < HAND_SIZE; i++) {
+            rank += binomial(sortedClasses[i] + i, i + 1);
+        }
+        return rank;
+    }
+
+    private static int binomial(int n, int k) {
+        if (n < k) {
+            return 0;
+        }
+        int result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.game_logic.ai;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Offline tool that builds the EXPERT policy table by running the Monte Carlo evaluation
+ * for every canonical state. Output is deterministic for a given rollout count.
+ *
+ * Run after changing the scoring rules or the rollout policy:
+ *   java -cp target/classes com.example.game_logic.ai.PolicyTableGenerator src/main/resources/ai/policy-table.bin 512
+ */
+public final class PolicyTableGenerator {
+
+    private PolicyTableGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path output = Path.of(args.length > 0 ? args[0] : "src/main/resources/ai/policy-table.bin");
+        int rollouts = args.length > 1 ? Integer.parseInt(args[1]) : 512;
+
+        long start = System.nanoTime();
+        PolicyTable table = generate(rollouts);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+            table.write(out);
+        }
+        System.out.printf("Wrote %s with %d rollouts per option in %d s%n",
+                output, rollouts, (System.nanoTime() - start) / 1_000_000_000L);
+    }
+
+    static PolicyTable generate(int rollouts) {
+        int classes = PolicyTable.SCORE_CLASSES.length;
+        byte[] entries = new byte[PolicyTable.BUCKET_STARTS.length * PolicyTable.HAND_COMBOS * classes];
+        List<int[]> hands = allSortedHands();
+
+        for (int bucket = 0; bucket < PolicyTable.BUCKET_STARTS.length; bucket++) {
+            int deckSize = PolicyTable.BUCKET_DECK_SIZES[bucket];
+            int b = bucket;
+            IntStream.range(0, hands.size()).parallel().forEach(h -> {
+                int[] sortedHand = hands.get(h);
+                int rank = PolicyTable.handRank(sortedHand);
+                int[] handScores = toScores(sortedHand);
+                SplittableRandom random = new SplittableRandom(((long) b << 32) | rank);
+                for (int card = 0; card < classes; card++) {
+                    entries[PolicyTable.index(b, rank, card)] =
+                            decide(handScores, sortedHand, card, deckSize, rollouts, random);
+                }
+            });
+        }
+        return new PolicyTable(entries);
+    }
+
+    /**
+     * Both decisions for one card class: as the top open table card and as the drawn card
+     */
+    private static byte decide(int[] handScores, int[] sortedHand, int cardClass, int deckSize,
+                               int rollouts, SplittableRandom random) {
+        int score = PolicyTable.SCORE_CLASSES[cardClass];
+        int greedySwap = Rollouts.greedySwapIndex(handScores, score);
+        int[] pool = remainingPool(sortedHand, cardClass);
+        if (pool == null || pool.length < PolicyTable.HAND_SIZE + deckSize) {
+            // Impossible state (more copies than a deck has), store the EASY rule
+            int position = greedySwap < 0 ? PolicyTable.DISCARD_POSITION : greedySwap;
+            return (byte) (position | (greedySwap >= 0 ? PolicyTable.TAKE_FLAG : 0));
+        }
+        ComputerView view = new ComputerView(handScores, new int[]{score}, pool, pool.length - PolicyTable.HAND_SIZE);
+
+        // Draw decision with this card on top of the open table
+        long[] drawTotals = evaluate(view, List.of(Candidate.openTable(score), Candidate.mainDeck()),
+                deckSize, rollouts, random);
+        boolean take = drawTotals[0] < drawTotals[1];
+
+        // Swap decision with this card drawn; the hand is sorted so positions are hand indexes
+        ComputerView drawnView = new ComputerView(handScores, new int[0], pool, view.mainDeckSize());
+        List<Candidate> candidates = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        candidates.add(Candidate.place(score, Rollouts.DISCARD));
+        positions.add(PolicyTable.DISCARD_POSITION);
+        for (int i = 0; i < handScores.length; i++) {
+            if (handScores[i] != score && (i == 0 || handScores[i] != handScores[i - 1])) {
+                candidates.add(Candidate.place(score, i));
+                positions.add(i);
+            }
+        }
+        long[] swapTotals = evaluate(drawnView, candidates, deckSize, rollouts, random);
+        int best = 0;
+        for (int i = 1; i < candidates.size(); i++) {
+            if (swapTotals[i] < swapTotals[best]) {
+                best = i;
+            }
+        }
+        return (byte) (positions.get(best) | (take ? PolicyTable.TAKE_FLAG : 0));
+    }
+
+    /**
+     * Sum of playout margins per candidate over the same sampled player hands and decks
+     */
+    private static long[] evaluate(ComputerView view, List<Candidate> candidates, int deckSize,
+                                   int rollouts, SplittableRandom random) {
+        long[] totals = new long[candidates.size()];
+        int[] shuffled = view.unseenScores().clone();
+        for (int r = 0; r < rollouts; r++) {
+            Rollouts.shuffle(shuffled, random);
+            int[] sample = Arrays.copyOf(shuffled, PolicyTable.HAND_SIZE + deckSize);
+            for (int c = 0; c < candidates.size(); c++) {
+                totals[c] += Rollouts.playOut(view, sample, candidates.get(c));
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Scores of a full deck minus the hand and the given card, or null if the state is impossible
+     */
+    private static int[] remainingPool(int[] sortedHand, int cardClass) {
+        int[] counts = PolicyTable.CLASS_COUNTS.clone();
+        counts[cardClass]--;
+        for (int c : sortedHand) {
+            counts[c]--;
+        }
+        int total = 0;
+        for (int count : counts) {
+            if (count < 0) {
+                return null;
+            }
+            total += count;
+        }
+        int[] pool = new int[total];
+        int i = 0;
+        for (int c = 0; c < counts.length; c++) {
+            for (int n = 0; n < counts[c]; n++) {
+                pool[i++] = PolicyTable.SCORE_CLASSES[c];
+            }
+        }
+        return pool;
+    }
+
+    private static List<int[]> allSortedHands() {
+        int classes = PolicyTable.SCORE_CLASSES.length;
+        List<int[]> hands = new ArrayList<>(PolicyTable.HAND_COMBOS);
+        for (int a = 0; a < classes; a++) {
+            for (int b = a; b < classes; b++) {
+                for (int c = b; c < classes; c++) {
+                    for (int d = c; d < classes; d++) {
+                        hands.add(new int[]{a, b, c, d});
+                    }
+                }
+            }
+        }
+        return hands;
+    }
+
+    private static int[] toScores(int[] classes) {
+        int[] scores = new int[classes.length];
+        for (int i = 0; i < classes.length; i++) {
+            scores[i] = PolicyTable.SCORE_CLASSES[classes[i]];
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.game_logic.ai;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * EXPERT computer: answers both decisions from the precomputed policy table,
+ * so a move costs two array lookups and no search runs on the request path.
+ */
+@Component
+public class PolicyTableStrategy implements ComputerStrategy {
+
+    private final PolicyTable table;
+
+    public PolicyTableStrategy(@Value("${game.ai.policy-table:classpath:ai/policy-table.bin}") Resource tableResource) {
+        try (InputStream in = tableResource.getInputStream()) {
+            this.table = PolicyTable.read(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load computer policy table from " + tableResource, e);
+        }
+    }
+
+    @Override
+    public Difficulty difficulty() {
+        return Difficulty.EXPERT;
+    }
+
+    @Override
+    public boolean takeOpenTableCard(ComputerView view) {
+        if (view.handScores().length != PolicyTable.HAND_SIZE) {
+            return view.topOpenTableScore() < view.handScores()[view.worstHandIndex()];
+        }
+        return table.takeOpenTableCard(view.handScores(), view.topOpenTableScore(), view.mainDeckSize());
+    }
+
+    @Override
+    public int chooseSwapIndex(ComputerView view, int drawnScore) {
+        if (view.handScores().length != PolicyTable.HAND_SIZE) {
+            return Rollouts.greedySwapIndex(view.handScores(), drawnScore);
+        }
+        return table.chooseSwapIndex(view.handScores(), drawnScore, view.mainDeckSize());
+    }
+}
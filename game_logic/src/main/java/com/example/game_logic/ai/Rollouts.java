@@ -0,0 +1,114 @@
+package com.example.game_logic.ai;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Playout simulator for the computer search. Works on int arrays of card scores only,
+ * so a single playout costs a few hundred nanoseconds and allocates three small arrays.
+ * Both sides play the EASY rule after the evaluated action until the main deck runs out.
+ */
+final class Rollouts {
+
+    static final int FROM_DECK = Integer.MIN_VALUE;
+    static final int DISCARD = -1;
+    static final int GREEDY_SWAP = -2;
+
+    private Rollouts() {
+    }
+
+    /**
+     * Fisher-Yates shuffle in place
+     */
+    static void shuffle(int[] cards, SplittableRandom random) {
+        for (int i = cards.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = cards[i];
+            cards[i] = cards[j];
+            cards[j] = tmp;
+        }
+    }
+
+    /**
+     * Apply the candidate action for the computer and play out the rest of the game.
+     * The sample is a shuffled copy of the unseen cards: the first {@code view.playerHandSize()}
+     * cards are taken as the player's hand, the rest as the main deck from the top. It is not modified.
+     *
+     * @return computer score minus player score at game end, lower is better for the computer
+     */
+    static int playOut(ComputerView view, int[] sample, Candidate candidate) {
+        int playerHandSize = view.playerHandSize();
+        int[] computer = view.handScores().clone();
+        int[] player = Arrays.copyOf(sample, playerHandSize);
+
+        int[] openTable = view.openTableScores();
+        int pileSize = candidate.fromOpenTable() ? openTable.length - 1 : openTable.length;
+        int[] pile = new int[openTable.length + sample.length + 1];
+        System.arraycopy(openTable, 0, pile, 0, pileSize);
+
+        int next = playerHandSize;
+        int card = candidate.card();
+        if (card == FROM_DECK) {
+            card = sample[next++];
+        }
+        int swapIndex = candidate.swapIndex() == GREEDY_SWAP ? greedySwapIndex(computer, card) : candidate.swapIndex();
+        pile[pileSize++] = place(computer, card, swapIndex);
+
+        // Player moves first, then the computer; the game ends when the deck is empty after a round.
+        // Taking from the pile always lowers the taker's hand, so this terminates even without deck draws.
+        int[][] turnOrder = {player, computer};
+        while (next < sample.length) {
+            for (int[] hand : turnOrder) {
+                int worst = worstIndex(hand);
+                int drawn;
+                if (pileSize > 0 && pile[pileSize - 1] < hand[worst]) {
+                    drawn = pile[--pileSize];
+                } else if (next < sample.length) {
+                    drawn = sample[next++];
+                } else {
+                    continue;
+                }
+                pile[pileSize++] = place(hand, drawn, drawn < hand[worst] ? worst : DISCARD);
+            }
+        }
+        return sum(computer) - sum(player);
+    }
+
+    /**
+     * The EASY rule: replace the worst card if the drawn card is better, otherwise discard
+     */
+    static int greedySwapIndex(int[] hand, int card) {
+        int worst = worstIndex(hand);
+        return card < hand[worst] ? worst : DISCARD;
+    }
+
+    static int worstIndex(int[] hand) {
+        int worst = 0;
+        for (int i = 1; i < hand.length; i++) {
+            if (hand[i] > hand[worst]) {
+                worst = i;
+            }
+        }
+        return worst;
+    }
+
+    /**
+     * Put the card into the hand at swapIndex (or nowhere) and return the card that goes to the pile
+     */
+    private static int place(int[] hand, int card, int swapIndex) {
+        if (swapIndex < 0) {
+            return card;
+        }
+        int out = hand[swapIndex];
+        hand[swapIndex] = card;
+        return out;
+    }
+
+    private static int sum(int[] hand) {
+        int total = 0;
+        for (int score : hand) {
+            total += score;
+        }
+        return total;
+    }
+}
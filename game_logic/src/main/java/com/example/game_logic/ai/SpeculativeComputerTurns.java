@@ -0,0 +1,155 @@
+package com.example.game_logic.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+
+/**
+ * Plans the computer's reply for every possible player decision while the player is still
+ * thinking. After a draw only a handful of outcomes exist (discard, or swap into one of the
+ * hand indexes), so each gets its own background plan; completeTurn then picks the one that
+ * matches what the player actually did.
+ */
+@Component
+public class SpeculativeComputerTurns {
+
+    /** Outcome key for "player discarded the drawn card" */
+    public static final int DISCARD = -1;
+
+    private final ExecutorService executor;
+    private final Map<Long, Speculation> speculations = new ConcurrentHashMap<>();
+    private final int maxGames;
+    private final long waitMillis;
+    private final long maxAgeMillis;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter skipped;
+
+    public SpeculativeComputerTurns(@Qualifier("speculationExecutor") ExecutorService speculationExecutor,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${game.ai.speculation.max-games:500}") int maxGames,
+                                    @Value("${game.ai.speculation.wait-ms:200}") long waitMillis,
+                                    @Value("${game.ai.speculation.max-age-ms:600000}") long maxAgeMillis) {
+        this.executor = speculationExecutor;
+        this.maxGames = maxGames;
+        this.waitMillis = waitMillis;
+        this.maxAgeMillis = maxAgeMillis;
+        this.hits = Counter.builder("game.ai.speculation").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("game.ai.speculation").tag("result", "miss").register(meterRegistry);
+        this.skipped = Counter.builder("game.ai.speculation").tag("result", "skipped").register(meterRegistry);
+    }
+
+    /**
+     * What the computer will see after one player outcome
+     *
+     * @param nextDeckScore score of the main deck top card at that point, or null if empty
+     */
+    public record Outcome(ComputerView view, Integer nextDeckScore) {
+    }
+
+    private record Speculation(int roundNumber, String drawFrom, Long drawnCardId, long createdAt,
+                               Map<Integer, Future<ComputerMove>> moves) {
+
+        boolean matches(int roundNumber, String drawFrom, Long drawnCardId) {
+            return this.roundNumber == roundNumber
+                    && Objects.equals(this.drawFrom, drawFrom)
+                    && Objects.equals(this.drawnCardId, drawnCardId);
+        }
+
+        void cancel() {
+            moves.values().forEach(move -> move.cancel(true));
+        }
+    }
+
+    /**
+     * Start planning the computer's reply to each outcome, replacing any earlier speculation for the game
+     */
+    public void start(Long gameId, int roundNumber, String drawFrom, Long drawnCardId,
+                      ComputerStrategy strategy, Map<Integer, Outcome> outcomes) {
+        long now = System.currentTimeMillis();
+        if (speculations.size() >= maxGames) {
+            // Abandoned games never call completeTurn, so age them out before giving up
+            speculations.values().removeIf(old -> {
+                boolean stale = now - old.createdAt() > maxAgeMillis;
+                if (stale) {
+                    old.cancel();
+                }
+                return stale;
+            });
+            if (speculations.size() >= maxGames) {
+                skipped.increment();
+                return;
+            }
+        }
+
+        Map<Integer, Future<ComputerMove>> moves = new HashMap<>();
+        try {
+            outcomes.forEach((key, outcome) ->
+                    moves.put(key, executor.submit(() -> strategy.planMove(outcome.view(), outcome.nextDeckScore()))));
+        } catch (RejectedExecutionException e) {
+            moves.values().forEach(move -> move.cancel(true));
+            skipped.increment();
+            return;
+        }
+
+        Speculation previous = speculations.put(gameId, new Speculation(roundNumber, drawFrom, drawnCardId, now, moves));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Claim the planned move for the outcome the player chose, or null if there is none
+     * (not speculated, the draw does not match, or planning did not finish in time).
+     */
+    public ComputerMove take(Long gameId, int roundNumber, String drawFrom, Long drawnCardId, int outcome) {
+        Speculation speculation = speculations.remove(gameId);
+        if (speculation == null) {
+            return null;
+        }
+        Future<ComputerMove> move = speculation.moves().get(outcome);
+        speculation.moves().forEach((key, other) -> {
+            if (key != outcome) {
+                other.cancel(true);
+            }
+        });
+        if (move == null || !speculation.matches(roundNumber, drawFrom, drawnCardId)) {
+            if (move != null) {
+                move.cancel(true);
+            }
+            misses.increment();
+            return null;
+        }
+
+        try {
+            ComputerMove planned = move.get(waitMillis, TimeUnit.MILLISECONDS);
+            hits.increment();
+            return planned;
+        } catch (TimeoutException | ExecutionException | CancellationException e) {
+            move.cancel(true);
+            misses.increment();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Drop any pending speculation for a game that ended or was deleted
+     */
+    public void discard(Long gameId) {
+        Speculation speculation = speculations.remove(gameId);
+        if (speculation != null) {
+            speculation.cancel();
+        }
+    }
+}
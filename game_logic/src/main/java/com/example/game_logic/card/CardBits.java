@@ -0,0 +1,70 @@
+package com.example.game_logic.card;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Maps the 52 cards onto the bits of a long so sets of cards can be combined with
+ * plain bit arithmetic. Cards are grouped by score, one mask per distinct score.
+ */
+@Component
+public class CardBits {
+
+    private final Map<Long, Integer> bitByCardId = new HashMap<>();
+    private final int[] scores;
+    private final long[] scoreMasks;
+    private final long allCards;
+
+    public CardBits(CardService cardService) {
+        List<Card> cards = new ArrayList<>(cardService.getAllCards());
+        if (cards.size() > Long.SIZE) {
+            throw new IllegalStateException("Too many cards for a 64-bit card set: " + cards.size());
+        }
+        cards.sort(Comparator.comparing(Card::getId));
+
+        TreeMap<Integer, Long> masks = new TreeMap<>();
+        long all = 0L;
+        for (int bit = 0; bit < cards.size(); bit++) {
+            Card card = cards.get(bit);
+            bitByCardId.put(card.getId(), bit);
+            masks.merge(cardService.calculateCardScore(card), 1L << bit, (a, b) -> a | b);
+            all |= 1L << bit;
+        }
+        this.allCards = all;
+        this.scores = masks.keySet().stream().mapToInt(Integer::intValue).toArray();
+        this.scoreMasks = masks.values().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Set of the given card IDs, unknown IDs are ignored
+     */
+    public long toBits(Collection<Long> cardIds) {
+        long bits = 0L;
+        for (Long cardId : cardIds) {
+            Integer bit = bitByCardId.get(cardId);
+            if (bit != null) {
+                bits |= 1L << bit;
+            }
+        }
+        return bits;
+    }
+
+    public long allCards() {
+        return allCards;
+    }
+
+    /**
+     * Distinct card scores in ascending order
+     */
+    public int[] scores() {
+        return scores;
+    }
+
+    /**
+     * Cards with scores()[i], same order as scores()
+     */
+    public long[] scoreMasks() {
+        return scoreMasks;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.game_logic.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ComputerAiConfig {
+
+    /**
+     * Shared pool for computer search rollouts. Kept separate from the common pool and
+     * sized below the core count so request threads always have CPU left.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool computerSearchPool(@Value("${game.ai.pool.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return new ForkJoinPool(threads);
+    }
+
+    /**
+     * Runs speculative computer turns between draw and complete-turn. A full queue rejects
+     * new speculations, and the turn is then planned on the request thread as before.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService speculationExecutor(@Value("${game.ai.speculation.threads:1}") int threads,
+                                               @Value("${game.ai.speculation.queue-capacity:100}") int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.AbortPolicy());
+    }
+}
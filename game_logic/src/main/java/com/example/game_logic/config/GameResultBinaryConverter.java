@@ -0,0 +1,95 @@
+package com.example.game_logic.config;
+
+import com.example.game_logic.gamestate.GameResultMessage;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary form of GameResultMessage, sent with content type application/x-game-result.
+ * Layout (big-endian): version byte, game ID as long (-1 for none, since version 2), publish
+ * time as epoch millis long (-1 for none, since version 3), player name as int length + UTF-8
+ * bytes (-1 for null), then playerScore, computerScore and rounds as ints. Older versions are
+ * still read. Other payload types go to the fallback.
+ */
+public class GameResultBinaryConverter implements MessageConverter {
+
+    public static final String CONTENT_TYPE = "application/x-game-result";
+    public static final byte VERSION = 3;
+
+    private final MessageConverter fallback;
+
+    public GameResultBinaryConverter(MessageConverter fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        if (!(object instanceof GameResultMessage result)) {
+            return fallback.toMessage(object, messageProperties);
+        }
+        messageProperties.setContentType(CONTENT_TYPE);
+        return new Message(encode(result), messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        if (!CONTENT_TYPE.equals(message.getMessageProperties().getContentType())) {
+            return fallback.fromMessage(message);
+        }
+        return decode(message.getBody());
+    }
+
+    public static byte[] encode(GameResultMessage result) {
+        byte[] name = result.getPlayerName() == null ? null : result.getPlayerName().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 2 * 8 + 4 + (name == null ? 0 : name.length) + 3 * 4);
+        buffer.put(VERSION);
+        buffer.putLong(result.getGameId() == null ? -1 : result.getGameId());
+        buffer.putLong(result.getPublishedAt() == null ? -1 : result.getPublishedAt());
+        buffer.putInt(name == null ? -1 : name.length);
+        if (name != null) {
+            buffer.put(name);
+        }
+        buffer.putInt(result.getPlayerScore());
+        buffer.putInt(result.getComputerScore());
+        buffer.putInt(result.getRounds());
+        return buffer.array();
+    }
+
+    public static GameResultMessage decode(byte[] body) {
+        byte version = body.length == 0 ? 0 : body[0];
+        if (version < 1 || version > VERSION) {
+            throw new MessageConversionException("Unsupported game result version: "
+                    + (body.length == 0 ? "empty body" : version));
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(body, 1, body.length - 1);
+            Long gameId = null;
+            if (version >= 2) {
+                long id = buffer.getLong();
+                gameId = id < 0 ? null : id;
+            }
+            Long publishedAt = null;
+            if (version >= 3) {
+                long millis = buffer.getLong();
+                publishedAt = millis < 0 ? null : millis;
+            }
+            int nameLength = buffer.getInt();
+            String playerName = null;
+            if (nameLength >= 0) {
+                playerName = new String(body, buffer.position(), nameLength, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + nameLength);
+            }
+            GameResultMessage result = new GameResultMessage(gameId, playerName, buffer.getInt(), buffer.getInt(), buffer.getInt());
+            result.setPublishedAt(publishedAt);
+            return result;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new MessageConversionException("Malformed game result message", e);
+        }
+    }
+}
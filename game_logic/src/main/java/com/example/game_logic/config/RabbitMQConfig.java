@@ -1,31 +1,85 @@
 package com.example.game_logic.config;
 
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 public class RabbitMQConfig {
 
     public static final String GAME_RESULT_QUEUE = "game-result-queue";
+    public static final String GAME_RESULT_EXCHANGE = "game-result-exchange";
+
+    /**
+     * Shard of a player's results. String.hashCode is fixed by the language spec, so
+     * producer and consumer agree on it without sharing code.
+     */
+    public static int shardFor(String playerName, int shards) {
+        return playerName == null ? 0 : Math.floorMod(playerName.hashCode(), shards);
+    }
+
+    public static String shardQueue(int shard) {
+        return GAME_RESULT_QUEUE + ".shard-" + shard;
+    }
+
+    public static String shardRoutingKey(int shard) {
+        return "shard." + shard;
+    }
 
     @Bean
     public Queue gameResultQueue() {
         return new Queue(GAME_RESULT_QUEUE, true);
     }
 
+    /**
+     * With game.results.shards > 0 results go through a direct exchange to one queue per
+     * shard, keyed by player name, so each player's results stay in order. 0 keeps the
+     * single queue. Producer and consumer must use the same shard count.
+     */
+    @Bean
+    public Declarables gameResultShards(@Value("${game.results.shards:0}") int shards) {
+        List<Declarable> declarables = new ArrayList<>();
+        if (shards > 0) {
+            DirectExchange exchange = new DirectExchange(GAME_RESULT_EXCHANGE, true, false);
+            declarables.add(exchange);
+            for (int shard = 0; shard < shards; shard++) {
+                Queue queue = new Queue(shardQueue(shard), true);
+                declarables.add(queue);
+                declarables.add(BindingBuilder.bind(queue).to(exchange).with(shardRoutingKey(shard)));
+            }
+        }
+        return new Declarables(declarables);
+    }
+
     @Bean
     public Jackson2JsonMessageConverter messageConverter() {
         return new Jackson2JsonMessageConverter();
     }
 
+    /**
+     * Game results are sent as JSON or, with game.results.wire-format=binary, in the compact
+     * binary form. gameresult reads both, so switch to binary once it is rolled out there.
+     */
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory,
+                                         @Value("${game.results.wire-format:json}") String wireFormat) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(messageConverter());
+        if ("binary".equals(wireFormat)) {
+            template.setMessageConverter(new GameResultBinaryConverter(messageConverter()));
+        } else {
+            template.setMessageConverter(messageConverter());
+        }
         return template;
     }
 }
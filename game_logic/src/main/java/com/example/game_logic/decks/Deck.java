@@ -22,10 +22,12 @@ public class Deck {
 
     private String deckName;
 
-    // Database stores only IDs
+    // Database stores only IDs, in list order: the main deck's top card is first,
+    // the open table's top card is last
     @ElementCollection
     @CollectionTable(name = "deck_card_ids", joinColumns = @JoinColumn(name = "deck_id"))
     @Column(name = "card_id")
+    @OrderColumn(name = "card_order")
     private List<Long> cardIds = new ArrayList<>();
 
     // Runtime only: populated when sending to frontend
@@ -0,0 +1,64 @@
+package com.example.game_logic.decks;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Adds the card_order column to deck_card_ids before Hibernate starts. Hibernate's schema
+ * update would add it as "not null" and fail on a table that already has cards, so existing
+ * rows are numbered here in storage order, the order they were loaded in before the column.
+ */
+@Component
+public class DeckCardOrderMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public DeckCardOrderMigration(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // Not the JPA transaction manager, that needs the entity manager factory waiting on this
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @PostConstruct
+    public void migrate() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!exists("select count(*) from information_schema.tables"
+                    + " where table_schema = current_schema() and table_name = 'deck_card_ids'")) {
+                return; // new database, Hibernate creates the table with the column
+            }
+            if (exists("select count(*) from information_schema.columns"
+                    + " where table_schema = current_schema() and table_name = 'deck_card_ids' and column_name = 'card_order'")) {
+                return;
+            }
+            jdbcTemplate.execute("alter table deck_card_ids add column card_order integer");
+            int rows = jdbcTemplate.update("""
+                    update deck_card_ids d set card_order = n.position
+                    from (select ctid, row_number() over (partition by deck_id order by ctid) - 1 as position
+                          from deck_card_ids) n
+                    where d.ctid = n.ctid""");
+            jdbcTemplate.execute("alter table deck_card_ids alter column card_order set not null");
+            System.out.println("Numbered " + rows + " deck cards in deck_card_ids.card_order");
+        });
+    }
+
+    private boolean exists(String countSql) {
+        Integer count = jdbcTemplate.queryForObject(countSql, Integer.class);
+        return count != null && count > 0;
+    }
+
+    /** Makes the entity manager factory, and so Hibernate's schema update, wait for the migration */
+    @Component
+    static class EntityManagerFactoryDependsOnMigration extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnMigration() {
+            super(DeckCardOrderMigration.class);
+        }
+    }
+}
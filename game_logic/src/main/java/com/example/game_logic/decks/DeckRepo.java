@@ -1,9 +1,19 @@
 package com.example.game_logic.decks;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface DeckRepo extends JpaRepository<Deck, Long> {
 
+    /**
+     * (deckId, cardId) rows for all the given decks in one query, each deck's cards in list order
+     */
+    @Query("select d.deckId, c from Deck d join d.cardIds c where d.deckId in :deckIds order by d.deckId, index(c)")
+    List<Object[]> findCardIdsByDeckIds(@Param("deckIds") Collection<Long> deckIds);
 }
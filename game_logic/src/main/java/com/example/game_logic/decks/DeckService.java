@@ -106,6 +106,33 @@ public class DeckService {
         return deck;
     }
 
+    /**
+     * Copies of the given decks with card IDs and cards filled in, keyed by deck ID.
+     * All card IDs come from one query, cards are looked up in cardsById.
+     */
+    public Map<Long, Deck> getDecksWithCards(Collection<Deck> decks, Map<Long, Card> cardsById) {
+        Map<Long, List<Long>> cardIdsByDeck = new HashMap<>();
+        if (!decks.isEmpty()) {
+            Set<Long> deckIds = new HashSet<>();
+            for (Deck deck : decks) {
+                deckIds.add(deck.getDeckId());
+            }
+            for (Object[] row : deckRepo.findCardIdsByDeckIds(deckIds)) {
+                cardIdsByDeck.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+            }
+        }
+
+        Map<Long, Deck> result = new HashMap<>();
+        for (Deck deck : decks) {
+            List<Long> cardIds = cardIdsByDeck.getOrDefault(deck.getDeckId(), new ArrayList<>());
+            List<Card> cards = new ArrayList<>();
+            for (Long cardId : cardIds) {
+                cards.add(cardsById.get(cardId));
+            }
+            result.put(deck.getDeckId(), new Deck(deck.getDeckId(), deck.getDeckName(), cardIds, cards));
+        }
+        return result;
+    }
 
     public Deck removeDeckCards(Long deckId, Long cardId) {
         Deck deck = deckRepo.findById(deckId)
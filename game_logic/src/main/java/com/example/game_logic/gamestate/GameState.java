@@ -1,7 +1,9 @@
 package com.example.game_logic.gamestate;
 
+import com.example.game_logic.ai.Difficulty;
 import com.example.game_logic.decks.Deck;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -38,4 +40,18 @@ public class GameState {
     private int computerScore;
     private int roundNumber;
     private boolean isGameOver;
+
+    @Enumerated(EnumType.STRING)
+    private Difficulty difficulty;
+
+    private String playerName;
+
+    // Result already written to the outbox. Nullable so the schema update can add the column
+    // to existing game_state rows, which read as not recorded
+    @Getter(AccessLevel.NONE)
+    private Boolean resultRecorded;
+
+    public boolean isResultRecorded() {
+        return Boolean.TRUE.equals(resultRecorded);
+    }
 }
@@ -1,8 +1,10 @@
 package com.example.game_logic.gamestate;
 
+import com.example.game_logic.ai.Difficulty;
 import com.example.game_logic.card.Card;
 import com.example.game_logic.savegame.SavedGame;
 import com.example.game_logic.savegame.SavedGameResponse;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
@@ -13,19 +15,30 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/game")
 public class GameStateController {
 
+    private static final int MAX_BULK_GAMES = 100;
+
     private final GameStateService gameStateService;
+    private final HintService hintService;
 
-    public GameStateController(GameStateService gameStateService) {
+    public GameStateController(GameStateService gameStateService, HintService hintService) {
         this.gameStateService = gameStateService;
+        this.hintService = hintService;
     }
 
     /**
      * Start a new game
-     * POST /api/game/start
+     * POST /api/game/start?difficulty=HARD&playerName=... (defaults to EASY)
+     * With a player name the result is recorded as soon as the game ends. A signed-in
+     * caller's name, forwarded by the gateway as X-User-Name, wins over the parameter. The
+     * header is only trustworthy because this service is reachable through the gateway alone.
      */
     @PostMapping("/start")
-    public ResponseEntity<GameStateResponse> startGame() {
-        GameState gameState = gameStateService.initializeGame();
+    public ResponseEntity<GameStateResponse> startGame(
+            @RequestParam(required = false) Difficulty difficulty,
+            @RequestParam(required = false) String playerName,
+            @RequestHeader(value = "X-User-Name", required = false) String verifiedPlayerName) {
+        String name = verifiedPlayerName != null ? verifiedPlayerName : playerName;
+        GameState gameState = gameStateService.initializeGame(difficulty, name);
         GameStateResponse response = gameStateService.getGameStateResponse(gameState.getGameId());
         return ResponseEntity.ok(response);
     }
@@ -75,6 +88,33 @@ public class GameStateController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get the state of several games at once
+     * GET /api/game?ids=1,2,3 (at most MAX_BULK_GAMES ids)
+     * Unknown games are returned with notFound = true.
+     */
+    @GetMapping
+    public ResponseEntity<List<GameStateResponse>> getGameStates(@RequestParam List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_BULK_GAMES) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(gameStateService.getGameStateResponses(ids));
+    }
+
+    /**
+     * Hint for the next draw: deck or open table, from the cards the player can see
+     * GET /api/game/{gameId}/hint
+     * The ETag changes every round, so clients can revalidate with If-None-Match.
+     */
+    @GetMapping("/{gameId}/hint")
+    public ResponseEntity<HintResponse> getHint(@PathVariable Long gameId) {
+        HintResponse hint = hintService.getHint(gameId);
+        return ResponseEntity.ok()
+                .eTag(hintService.hintVersion(gameId, hint.getRoundNumber()))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(hint);
+    }
+
     /**
      * End  a game
      * DELETE /api/game/{gameId}
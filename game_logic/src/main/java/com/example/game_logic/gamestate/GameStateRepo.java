@@ -1,8 +1,22 @@
 package com.example.game_logic.gamestate;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface GameStateRepo extends JpaRepository<GameState, Long> {
+
+    /**
+     * Games with all four decks in one query, card IDs are loaded separately
+     */
+    @Query("select g from GameState g " +
+            "left join fetch g.mainDeck left join fetch g.openTableDeck " +
+            "left join fetch g.playerHand left join fetch g.computerHand " +
+            "where g.gameId in :gameIds")
+    List<GameState> findAllWithDecks(@Param("gameIds") Collection<Long> gameIds);
 }
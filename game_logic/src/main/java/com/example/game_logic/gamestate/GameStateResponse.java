@@ -1,5 +1,6 @@
 package com.example.game_logic.gamestate;
 
+import com.example.game_logic.ai.Difficulty;
 import com.example.game_logic.card.Card;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -25,4 +26,6 @@ public class GameStateResponse {
     private String message;
     private int playerScore;
     private int computerScore;
+    private Difficulty difficulty;
+    private boolean notFound; // Only set by the bulk lookup for unknown game IDs
 }
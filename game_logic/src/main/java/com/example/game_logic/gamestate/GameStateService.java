@@ -1,15 +1,23 @@
 package com.example.game_logic.gamestate;
 
+import com.example.game_logic.ai.ComputerMove;
+import com.example.game_logic.ai.ComputerStrategies;
+import com.example.game_logic.ai.ComputerStrategy;
+import com.example.game_logic.ai.ComputerView;
+import com.example.game_logic.ai.Difficulty;
+import com.example.game_logic.ai.SpeculativeComputerTurns;
 import com.example.game_logic.card.Card;
 import com.example.game_logic.card.CardService;
-import com.example.game_logic.config.RabbitMQConfig;
 import com.example.game_logic.decks.Deck;
 import com.example.game_logic.decks.DeckService;
+import com.example.game_logic.results.GameResultOutboxEntry;
+import com.example.game_logic.results.GameResultOutboxRepo;
 import com.example.game_logic.savegame.SavedGame;
 import com.example.game_logic.savegame.SavedGameRepository;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.web.server.ResponseStatusException;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -19,22 +27,42 @@ public class GameStateService {
     private final CardService cardService;
     private final DeckService deckService;
     private final GameStateRepo gameStateRepo;
-    private final RabbitTemplate rabbitTemplate;
+    private final GameResultOutboxRepo gameResultOutboxRepo;
     private final SavedGameRepository savedGameRepository;
+    private final ComputerStrategies computerStrategies;
+    private final SpeculativeComputerTurns speculativeComputerTurns;
 
-    public GameStateService(CardService cardService, DeckService deckService, GameStateRepo gameStateRepo, RabbitTemplate rabbitTemplate, SavedGameRepository savedGameRepository) {
+    public GameStateService(CardService cardService, DeckService deckService, GameStateRepo gameStateRepo, GameResultOutboxRepo gameResultOutboxRepo, SavedGameRepository savedGameRepository, ComputerStrategies computerStrategies, SpeculativeComputerTurns speculativeComputerTurns) {
         this.cardService = cardService;
         this.deckService = deckService;
         this.gameStateRepo = gameStateRepo;
-        this.rabbitTemplate = rabbitTemplate;
+        this.gameResultOutboxRepo = gameResultOutboxRepo;
         this.savedGameRepository = savedGameRepository;
+        this.computerStrategies = computerStrategies;
+        this.speculativeComputerTurns = speculativeComputerTurns;
     }
 
     /**
-     * Initialize a new game with shuffled deck and dealt hands
+     * Initialize a new game against the EASY computer
      */
     @Transactional
     public GameState initializeGame() {
+        return initializeGame(Difficulty.EASY);
+    }
+
+    /**
+     * Initialize a new game with shuffled deck and dealt hands
+     */
+    @Transactional
+    public GameState initializeGame(Difficulty difficulty) {
+        return initializeGame(difficulty, null);
+    }
+
+    /**
+     * Initialize a new game with shuffled deck and dealt hands
+     */
+    @Transactional
+    public GameState initializeGame(Difficulty difficulty, String playerName) {
         // Create card IDs for a full deck
         List<Long> cardIds = new ArrayList<>();
         for (long i = 1; i <= 52; i++) {
@@ -65,6 +93,8 @@ public class GameStateService {
         gameState.setComputerScore(0);
         gameState.setRoundNumber(1);
         gameState.setGameOver(false);
+        gameState.setDifficulty(difficulty != null ? difficulty : Difficulty.EASY);
+        gameState.setPlayerName(playerName);
 
         return gameStateRepo.save(gameState);
     }
@@ -74,8 +104,14 @@ public class GameStateService {
      * 1. Check if open table card is better than worst card in hand - if so, take it
      * 2. Otherwise draw from main deck
      * 3. Swap if drawn card has better score than worst card in hand
+     * Games on a higher difficulty hand both decisions to that difficulty's strategy,
+     * using the move planned while the player was deciding when there is one.
      */
-    private String executeComputerTurn(GameState gameState) {
+    private String executeComputerTurn(GameState gameState, ComputerMove speculativeMove) {
+        if (usesComputerStrategy(gameState)) {
+            return executeStrategyTurn(gameState, computerStrategies.forDifficulty(gameState.getDifficulty()), speculativeMove);
+        }
+
         Deck mainDeck = deckService.getDeck(gameState.getMainDeck().getDeckId());
         Deck openTableDeck = deckService.getDeck(gameState.getOpenTableDeck().getDeckId());
         Deck computerHand = deckService.getDeck(gameState.getComputerHand().getDeckId());
@@ -121,9 +157,6 @@ public class GameStateService {
             drawSource = "main deck";
         }
 
-        String computerMessage = "Computer drew " + drawnCard.getValue() +
-                " of " + drawnCard.getSuite() + " from " + drawSource + ". ";
-
         // Strategy 3: Decide whether to swap based on scores
         int drawnCardScore = cardService.calculateCardScore(drawnCard);
 
@@ -140,12 +173,128 @@ public class GameStateService {
         }
 
         // Swap if drawn card is better (lower score) than worst card in hand
-        if (worstCard != null && drawnCardScore < worstScore) {
-            deckService.removeDeckCards(computerHand.getDeckId(), worstCard.getId());
-            deckService.addCardToDeck(openTableDeck.getDeckId(), worstCard);
+        Card cardToReplace = drawnCardScore < worstScore ? worstCard : null;
+        return finishComputerTurn(computerHand, openTableDeck, drawnCard, drawSource, cardToReplace);
+    }
+
+    private boolean usesComputerStrategy(GameState gameState) {
+        Difficulty difficulty = gameState.getDifficulty();
+        return difficulty != null && difficulty != Difficulty.EASY;
+    }
+
+    /**
+     * Computer turn driven by a difficulty strategy. The strategy only sees card scores
+     * of the computer's hand and the open table; the main deck and player hand are unseen.
+     */
+    private String executeStrategyTurn(GameState gameState, ComputerStrategy strategy, ComputerMove speculativeMove) {
+        Deck mainDeck = deckService.getDeck(gameState.getMainDeck().getDeckId());
+        Deck openTableDeck = deckService.getDeck(gameState.getOpenTableDeck().getDeckId());
+        Deck computerHand = deckService.getDeck(gameState.getComputerHand().getDeckId());
+
+        ComputerMove move = speculativeMove;
+        if (move == null || (move.fromOpenTable() && openTableDeck.getCardIds().isEmpty())) {
+            Deck playerHand = deckService.getDeck(gameState.getPlayerHand().getDeckId());
+            ComputerView view = buildComputerView(mainDeck, openTableDeck, computerHand, playerHand);
+            move = strategy.planMove(view, topCardScore(mainDeck.getCards()));
+        }
+
+        Card drawnCard;
+        String drawSource;
+        if (move.fromOpenTable()) {
+            Long topCardId = openTableDeck.getCardIds().get(openTableDeck.getCardIds().size() - 1);
+            drawnCard = cardService.getCardById(topCardId);
+            deckService.removeDeckCards(openTableDeck.getDeckId(), topCardId);
+            drawSource = "open table";
+        } else {
+            List<Long> computerDrawnIds = deckService.drawCards(mainDeck.getDeckId(), 1);
+            if (computerDrawnIds.isEmpty()) {
+                return "Computer cannot draw - deck empty. ";
+            }
+            drawnCard = cardService.getCardById(computerDrawnIds.get(0));
+            drawSource = "main deck";
+        }
+
+        Card cardToReplace = move.swapIndex() >= 0 ? computerHand.getCards().get(move.swapIndex()) : null;
+        return finishComputerTurn(computerHand, openTableDeck, drawnCard, drawSource, cardToReplace);
+    }
+
+    /**
+     * Plan the computer's reply to every possible player decision for this draw in the
+     * background: discard, or swap the drawn card into each hand index.
+     */
+    private void speculateComputerTurn(GameState gameState, String drawFrom, Card drawnCard, Deck mainDeck, Deck openTableDeck) {
+        Deck playerHand = deckService.getDeck(gameState.getPlayerHand().getDeckId());
+        Deck computerHand = deckService.getDeck(gameState.getComputerHand().getDeckId());
+        int[] computerScores = toScores(computerHand.getCards());
+
+        // Decks as they will be once completeTurn has removed the drawn card from its source
+        List<Card> deckAfterDraw = new ArrayList<>(mainDeck.getCards());
+        List<Card> tableAfterDraw = new ArrayList<>(openTableDeck.getCards());
+        if ("openTable".equals(drawFrom)) {
+            tableAfterDraw.remove(tableAfterDraw.size() - 1);
+        } else {
+            deckAfterDraw.remove(0);
+        }
+        Integer nextDeckScore = topCardScore(deckAfterDraw);
+
+        List<Card> playerCards = playerHand.getCards();
+        Map<Integer, SpeculativeComputerTurns.Outcome> outcomes = new HashMap<>();
+        for (int outcome = SpeculativeComputerTurns.DISCARD; outcome < playerCards.size(); outcome++) {
+            List<Card> table = new ArrayList<>(tableAfterDraw);
+            List<Card> unseen = new ArrayList<>(deckAfterDraw);
+            unseen.addAll(playerCards);
+            if (outcome == SpeculativeComputerTurns.DISCARD) {
+                table.add(drawnCard);
+            } else {
+                Card swappedOut = playerCards.get(outcome);
+                table.add(swappedOut);
+                unseen.remove(swappedOut);
+                unseen.add(drawnCard);
+            }
+            ComputerView view = new ComputerView(computerScores, toScores(table), toScores(unseen), deckAfterDraw.size());
+            outcomes.put(outcome, new SpeculativeComputerTurns.Outcome(view, nextDeckScore));
+        }
+
+        speculativeComputerTurns.start(gameState.getGameId(), gameState.getRoundNumber(), drawFrom, drawnCard.getId(),
+                computerStrategies.forDifficulty(gameState.getDifficulty()), outcomes);
+    }
+
+    private Integer topCardScore(List<Card> deckCards) {
+        return deckCards.isEmpty() ? null : cardService.calculateCardScore(deckCards.get(0));
+    }
+
+    /**
+     * Card scores as seen from the computer's seat
+     */
+    private ComputerView buildComputerView(Deck mainDeck, Deck openTableDeck, Deck computerHand, Deck playerHand) {
+        List<Card> unseen = new ArrayList<>(mainDeck.getCards());
+        unseen.addAll(playerHand.getCards());
+        return new ComputerView(
+                toScores(computerHand.getCards()),
+                toScores(openTableDeck.getCards()),
+                toScores(unseen),
+                mainDeck.getCardIds().size()
+        );
+    }
+
+    private int[] toScores(List<Card> cards) {
+        return cards.stream().mapToInt(cardService::calculateCardScore).toArray();
+    }
+
+    /**
+     * Put the drawn card into the computer's hand in place of cardToReplace,
+     * or discard it to the open table when cardToReplace is null
+     */
+    private String finishComputerTurn(Deck computerHand, Deck openTableDeck, Card drawnCard, String drawSource, Card cardToReplace) {
+        String computerMessage = "Computer drew " + drawnCard.getValue() +
+                " of " + drawnCard.getSuite() + " from " + drawSource + ". ";
+
+        if (cardToReplace != null) {
+            deckService.removeDeckCards(computerHand.getDeckId(), cardToReplace.getId());
+            deckService.addCardToDeck(openTableDeck.getDeckId(), cardToReplace);
             deckService.addCardToDeck(computerHand.getDeckId(), drawnCard);
-            computerMessage += "Computer swapped out " + worstCard.getValue() +
-                    " of " + worstCard.getSuite() + ".";
+            computerMessage += "Computer swapped out " + cardToReplace.getValue() +
+                    " of " + cardToReplace.getSuite() + ".";
         } else {
             deckService.addCardToDeck(openTableDeck.getDeckId(), drawnCard);
             computerMessage += "Computer discarded the card.";
@@ -173,8 +322,28 @@ public class GameStateService {
         if (mainDeck.getCardIds().isEmpty()) {
             gameState.setGameOver(true);
             calculateFinalScores(gameState);
+            recordResult(gameState);
         }
     }
+
+    /**
+     * Write the result to the outbox, in the caller's transaction. Only once per game,
+     * and only when we know who played.
+     */
+    private void recordResult(GameState gameState) {
+        if (gameState.isResultRecorded() || gameState.getPlayerName() == null) {
+            return;
+        }
+        GameResultOutboxEntry entry = new GameResultOutboxEntry();
+        entry.setGameId(gameState.getGameId());
+        entry.setPlayerName(gameState.getPlayerName());
+        entry.setPlayerScore(gameState.getPlayerScore());
+        entry.setComputerScore(gameState.getComputerScore());
+        entry.setRounds(gameState.getRoundNumber());
+        entry.setCreatedAt(LocalDateTime.now());
+        gameResultOutboxRepo.save(entry);
+        gameState.setResultRecorded(true);
+    }
     /**
      * Draw a card from main deck or open table (Step 1 of player turn)
      */
@@ -214,6 +383,10 @@ public class GameStateService {
             // DON'T remove it here - do it in completeTurn
         }
 
+        if (usesComputerStrategy(gameState)) {
+            speculateComputerTurn(gameState, drawFrom, drawnCard, mainDeck, openTableDeck);
+        }
+
         return drawnCard;
     }
 
@@ -245,6 +418,7 @@ public class GameStateService {
         }
 
         String message = "Player drew " + drawnCard.getValue() + " of " + drawnCard.getSuite() + ". ";
+        int playerOutcome = SpeculativeComputerTurns.DISCARD;
 
         // Handle player's swap decision
         // Handle player's swap decision
@@ -262,6 +436,7 @@ public class GameStateService {
 
                 // Add drawn card to player hand
                 deckService.addCardToDeck(playerHand.getDeckId(), drawnCard);
+                playerOutcome = cardIndexToSwap;
             } else {
                 message += "Invalid swap index! Card discarded. ";
                 deckService.addCardToDeck(openTableDeck.getDeckId(), drawnCard);
@@ -273,7 +448,10 @@ public class GameStateService {
 
         // Computer's turn
         if (!gameState.isGameOver()) {
-            message += executeComputerTurn(gameState);
+            ComputerMove speculativeMove = usesComputerStrategy(gameState)
+                    ? speculativeComputerTurns.take(gameId, gameState.getRoundNumber(), drawFrom, drawnCard.getId(), playerOutcome)
+                    : null;
+            message += executeComputerTurn(gameState, speculativeMove);
         }
 
         // Check if game should end
@@ -301,11 +479,62 @@ public class GameStateService {
         return buildResponse(gameState, null, "Current game state");
     }
 
+    /**
+     * Get the state of many games with a fixed number of queries: one for the games and their
+     * decks, one for the card IDs of all those decks and one for the cards. Responses follow the
+     * order of gameIds, unknown games get a response marked notFound.
+     */
+    @Transactional(readOnly = true)
+    public List<GameStateResponse> getGameStateResponses(List<Long> gameIds) {
+        Map<Long, GameState> games = new HashMap<>();
+        for (GameState gameState : gameStateRepo.findAllWithDecks(new HashSet<>(gameIds))) {
+            games.put(gameState.getGameId(), gameState);
+        }
+
+        List<Deck> decks = new ArrayList<>();
+        for (GameState gameState : games.values()) {
+            decks.add(gameState.getPlayerHand());
+            decks.add(gameState.getComputerHand());
+            decks.add(gameState.getMainDeck());
+            decks.add(gameState.getOpenTableDeck());
+        }
+        Map<Long, Card> cardsById = new HashMap<>();
+        for (Card card : cardService.getAllCards()) {
+            cardsById.put(card.getId(), card);
+        }
+        Map<Long, Deck> decksById = deckService.getDecksWithCards(decks, cardsById);
+
+        List<GameStateResponse> responses = new ArrayList<>();
+        for (Long gameId : gameIds) {
+            GameState gameState = games.get(gameId);
+            if (gameState == null) {
+                GameStateResponse response = new GameStateResponse();
+                response.setGameId(gameId);
+                response.setNotFound(true);
+                response.setMessage("Game not found with id: " + gameId);
+                responses.add(response);
+                continue;
+            }
+
+            Deck openTableDeck = decksById.get(gameState.getOpenTableDeck().getDeckId());
+            List<Card> openTableCards = openTableDeck.getCards();
+            Card topOpenTableCard = openTableCards.isEmpty() ? null : openTableCards.get(openTableCards.size() - 1);
+
+            responses.add(buildResponse(gameState,
+                    decksById.get(gameState.getPlayerHand().getDeckId()),
+                    decksById.get(gameState.getComputerHand().getDeckId()),
+                    decksById.get(gameState.getMainDeck().getDeckId()),
+                    openTableDeck, topOpenTableCard, null, "Current game state"));
+        }
+        return responses;
+    }
+
     /**
      * End the game and clean up
      */
     @Transactional
     public void endGame(Long gameId) {
+        speculativeComputerTurns.discard(gameId);
         gameStateRepo.deleteById(gameId);
     }
 
@@ -316,7 +545,11 @@ public class GameStateService {
 
         gameState.setGameOver(true);
         calculateFinalScores(gameState);
+        recordResult(gameState);
         gameStateRepo.save(gameState);
+        if (usesComputerStrategy(gameState)) {
+            speculativeComputerTurns.discard(gameId);
+        }
 
         return buildResponse(gameState, null, "Game ended manually.");
     }
@@ -330,10 +563,6 @@ public class GameStateService {
         Deck mainDeck = deckService.getDeck(gameState.getMainDeck().getDeckId());
         Deck openTableDeck = deckService.getDeck(gameState.getOpenTableDeck().getDeckId());
 
-        // Calculate current scores
-        int playerScore = cardService.calculateHandScore(playerHand.getCards());
-        int computerScore = cardService.calculateHandScore(computerHand.getCards());
-
         // Get top card from open table (last card in the list)
         Card topOpenTableCard = null;
         if (!openTableDeck.getCardIds().isEmpty()) {
@@ -341,6 +570,18 @@ public class GameStateService {
             topOpenTableCard = cardService.getCardById(topCardId);
         }
 
+        return buildResponse(gameState, playerHand, computerHand, mainDeck, openTableDeck, topOpenTableCard, drawnCard, message);
+    }
+
+    /**
+     * Build the response DTO from decks that are already loaded
+     */
+    private GameStateResponse buildResponse(GameState gameState, Deck playerHand, Deck computerHand, Deck mainDeck,
+                                            Deck openTableDeck, Card topOpenTableCard, Card drawnCard, String message) {
+        // Calculate current scores
+        int playerScore = cardService.calculateHandScore(playerHand.getCards());
+        int computerScore = cardService.calculateHandScore(computerHand.getCards());
+
         // Add winner information to message if game is over
         if (gameState.isGameOver()) {
             message += "\n--- GAME OVER ---\n";
@@ -367,6 +608,7 @@ public class GameStateService {
         response.setMessage(message);
         response.setPlayerScore(playerScore);
         response.setComputerScore(computerScore);
+        response.setDifficulty(gameState.getDifficulty());
 
         /* DEBUG
         System.out.println("Response playerHand size: " + response.getPlayerHand().size());
@@ -374,20 +616,29 @@ public class GameStateService {
         return response;
     }
 
-    public void sendGameResultToQueue(String playerName, int playerScore, int computerScore, int rounds) {
-        GameResultMessage message = new GameResultMessage(playerName, playerScore, computerScore, rounds);
-        rabbitTemplate.convertAndSend(RabbitMQConfig.GAME_RESULT_QUEUE, message);
-    }
+    /**
+     * Record the result for a game started without a player name. The outbox relay
+     * publishes it, games whose result is already recorded are left alone.
+     *
+     * @throws ResponseStatusException 409 if the game is not over yet
+     */
+    @Transactional
     public void saveGameResultViaQueue(Long gameId, String playerName) {
         GameState gameState = gameStateRepo.findById(gameId)
                 .orElseThrow(() -> new RuntimeException("Game not found"));
 
-        sendGameResultToQueue(
-                playerName,
-                gameState.getPlayerScore(),
-                gameState.getComputerScore(),
-                gameState.getRoundNumber()
-        );
+        if (!gameState.isGameOver()) {
+            // Recording now would publish a partial score and suppress the final one
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Game is not over yet");
+        }
+        if (gameState.isResultRecorded()) {
+            return;
+        }
+        if (playerName != null) {
+            gameState.setPlayerName(playerName);
+        }
+        recordResult(gameState);
+        gameStateRepo.save(gameState);
     }
 
     /**
@@ -420,6 +671,8 @@ public class GameStateService {
         clonedState.setComputerScore(original.getComputerScore());
         clonedState.setRoundNumber(original.getRoundNumber());
         clonedState.setGameOver(original.isGameOver());
+        clonedState.setDifficulty(original.getDifficulty());
+        clonedState.setPlayerName(original.getPlayerName());
 
         return gameStateRepo.save(clonedState);
     }
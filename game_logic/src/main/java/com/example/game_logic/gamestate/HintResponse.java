@@ -0,0 +1,20 @@
+package com.example.game_logic.gamestate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class HintResponse {
+    private Long gameId;
+    private int roundNumber;
+    private String recommendedSource; // "mainDeck" or "openTable"
+    private double mainDeckExpectedImprovement; // average score drop from drawing blind
+    private double openTableImprovement; // score drop from taking the top open table card
+    private double mainDeckImprovementChance; // probability a blind draw beats the worst card
+    private int unseenCards;
+}
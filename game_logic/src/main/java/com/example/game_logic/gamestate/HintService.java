@@ -0,0 +1,108 @@
+package com.example.game_logic.gamestate;
+
+import com.example.game_logic.card.CardBits;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * "Deck or open table?" hint for the player, computed only from what the player can see:
+ * their own hand and the open table. Everything else is unseen and equally likely to be
+ * the next deck card. Hints are cached per game and round, the only time they can change.
+ */
+@Service
+public class HintService {
+
+    private static final int MAX_CACHED_GAMES = 10_000;
+
+    private final GameStateRepo gameStateRepo;
+    private final CardBits cardBits;
+    private final Map<Long, HintResponse> hintCache = new ConcurrentHashMap<>();
+
+    public HintService(GameStateRepo gameStateRepo, CardBits cardBits) {
+        this.gameStateRepo = gameStateRepo;
+        this.cardBits = cardBits;
+    }
+
+    /**
+     * Version tag for a game's hint, changes every round
+     */
+    public String hintVersion(Long gameId, int roundNumber) {
+        return gameId + "-" + roundNumber;
+    }
+
+    @Transactional(readOnly = true)
+    public HintResponse getHint(Long gameId) {
+        GameState gameState = gameStateRepo.findById(gameId)
+                .orElseThrow(() -> new RuntimeException("Game not found with id: " + gameId));
+
+        if (gameState.isGameOver()) {
+            hintCache.remove(gameId);
+            throw new RuntimeException("Game is already over!");
+        }
+
+        HintResponse cached = hintCache.get(gameId);
+        if (cached != null && cached.getRoundNumber() == gameState.getRoundNumber()) {
+            return cached;
+        }
+
+        HintResponse hint = computeHint(gameState);
+        if (hintCache.size() >= MAX_CACHED_GAMES) {
+            hintCache.clear(); // abandoned games never reach game over, start fresh
+        }
+        hintCache.put(gameId, hint);
+        return hint;
+    }
+
+    private HintResponse computeHint(GameState gameState) {
+        List<Long> handIds = gameState.getPlayerHand().getCardIds();
+        List<Long> tableIds = gameState.getOpenTableDeck().getCardIds();
+
+        int[] scores = cardBits.scores();
+        long[] scoreMasks = cardBits.scoreMasks();
+        long hand = cardBits.toBits(handIds);
+        long unseen = cardBits.allCards() & ~hand & ~cardBits.toBits(tableIds);
+
+        // Worst (highest score) card in the player's hand
+        int worst = Integer.MIN_VALUE;
+        for (int i = 0; i < scores.length; i++) {
+            if ((hand & scoreMasks[i]) != 0) {
+                worst = scores[i];
+            }
+        }
+
+        int unseenCount = Long.bitCount(unseen);
+        long improvementTotal = 0;
+        int improvingCards = 0;
+        for (int i = 0; i < scores.length && scores[i] < worst; i++) {
+            int count = Long.bitCount(unseen & scoreMasks[i]);
+            improvementTotal += (long) count * (worst - scores[i]);
+            improvingCards += count;
+        }
+        double deckImprovement = unseenCount == 0 ? 0.0 : (double) improvementTotal / unseenCount;
+        double deckChance = unseenCount == 0 ? 0.0 : (double) improvingCards / unseenCount;
+
+        double tableImprovement = 0.0;
+        if (!tableIds.isEmpty()) {
+            long top = cardBits.toBits(List.of(tableIds.get(tableIds.size() - 1)));
+            for (int i = 0; i < scores.length; i++) {
+                if ((top & scoreMasks[i]) != 0) {
+                    tableImprovement = Math.max(0, worst - scores[i]);
+                }
+            }
+        }
+
+        HintResponse hint = new HintResponse();
+        hint.setGameId(gameState.getGameId());
+        hint.setRoundNumber(gameState.getRoundNumber());
+        hint.setRecommendedSource(tableImprovement > deckImprovement ? "openTable" : "mainDeck");
+        hint.setMainDeckExpectedImprovement(deckImprovement);
+        hint.setOpenTableImprovement(tableImprovement);
+        hint.setMainDeckImprovementChance(deckChance);
+        hint.setUnseenCards(unseenCount);
+        return hint;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.game_logic.results;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A finished game's result waiting to be relayed to game-result-queue.
+ * Written in the same transaction that ends the game, deleted once the broker confirms it.
+ */
+@Entity
+@Table(name = "game_result_outbox")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class GameResultOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long gameId;
+
+    private String playerName;
+    private int playerScore;
+    private int computerScore;
+    private int rounds;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,95 @@
+package com.example.game_logic.results;
+
+import com.example.game_logic.gamestate.GameResultMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the game result outbox to game-result-queue. Each batch is claimed, published with
+ * confirms and deleted in one transaction; if publishing fails the transaction rolls back
+ * and the rows are picked up again. While publishing keeps failing, e.g. the broker is down,
+ * polls are skipped with exponential backoff up to game.results.outbox.max-backoff-ms.
+ */
+@Component
+public class GameResultOutboxRelay {
+
+    private final GameResultOutboxRepo outboxRepo;
+    private final GameResultPublisher gameResultPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final long maxSkippedPolls;
+
+    private final Counter relayed;
+    private final Counter failures;
+
+    // Only touched by the scheduler thread, fixedDelay runs never overlap
+    private int consecutiveFailures;
+    private long skippedPolls;
+
+    public GameResultOutboxRelay(GameResultOutboxRepo outboxRepo,
+                                 GameResultPublisher gameResultPublisher,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${game.results.outbox.batch-size:100}") int batchSize,
+                                 @Value("${game.results.outbox.poll-interval-ms:1000}") long pollIntervalMs,
+                                 @Value("${game.results.outbox.max-backoff-ms:60000}") long maxBackoffMs) {
+        this.outboxRepo = outboxRepo;
+        this.gameResultPublisher = gameResultPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.maxSkippedPolls = Math.max(0, maxBackoffMs / pollIntervalMs - 1);
+        this.relayed = Counter.builder("game.results.outbox.relayed").register(meterRegistry);
+        this.failures = Counter.builder("game.results.outbox.relay.failures").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${game.results.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        if (skippedPolls > 0) {
+            skippedPolls--;
+            return;
+        }
+        try {
+            Integer count;
+            do {
+                count = transactionTemplate.execute(status -> relayBatch());
+            } while (count != null && count == batchSize);
+            if (consecutiveFailures > 0) {
+                System.out.println("Relaying game results recovered after " + consecutiveFailures + " failed attempts");
+                consecutiveFailures = 0;
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            consecutiveFailures++;
+            // Skip 1, 3, 7, ... polls, so attempts are 2, 4, 8, ... intervals apart up to the cap
+            skippedPolls = Math.min((1L << Math.min(consecutiveFailures, 30)) - 1, maxSkippedPolls);
+            System.err.println("Relaying game results failed " + consecutiveFailures + " times in a row, retrying in "
+                    + (skippedPolls + 1) * pollIntervalMs + " ms: " + e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        List<GameResultOutboxEntry> entries = outboxRepo.claimBatch(batchSize);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        List<GameResultMessage> messages = new ArrayList<>(entries.size());
+        for (GameResultOutboxEntry entry : entries) {
+            messages.add(new GameResultMessage(entry.getGameId(), entry.getPlayerName(), entry.getPlayerScore(),
+                    entry.getComputerScore(), entry.getRounds()));
+        }
+        gameResultPublisher.publishConfirmed(messages);
+        outboxRepo.deleteAllInBatch(entries);
+        relayed.increment(entries.size());
+        return entries.size();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.game_logic.results;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GameResultOutboxRepo extends JpaRepository<GameResultOutboxEntry, Long> {
+
+    /**
+     * Lock the oldest entries for this transaction. Rows locked by another instance are
+     * skipped, so several relays can drain the outbox side by side.
+     */
+    @Query(value = "select * from game_result_outbox order by id limit :limit for update skip locked",
+            nativeQuery = true)
+    List<GameResultOutboxEntry> claimBatch(@Param("limit") int limit);
+}
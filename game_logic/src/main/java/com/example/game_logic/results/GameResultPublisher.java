@@ -0,0 +1,64 @@
+package com.example.game_logic.results;
+
+import com.example.game_logic.config.RabbitMQConfig;
+import com.example.game_logic.gamestate.GameResultMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes batches of game results on one channel and waits for the broker to confirm
+ * the whole batch. Used by GameResultOutboxRelay, which retries a batch that fails.
+ *
+ * Needs spring.rabbitmq.publisher-confirm-type=simple.
+ */
+@Component
+public class GameResultPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final long confirmTimeoutMillis;
+    private final int shards;
+
+    private final Timer confirmLatency;
+    private final Counter published;
+
+    public GameResultPublisher(RabbitTemplate rabbitTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${game.results.publisher.confirm-timeout-ms:5000}") long confirmTimeoutMillis,
+                               @Value("${game.results.shards:0}") int shards) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+        this.shards = shards;
+
+        this.confirmLatency = Timer.builder("game.results.publish.confirm.latency").register(meterRegistry);
+        this.published = Counter.builder("game.results.published").register(meterRegistry);
+    }
+
+    /**
+     * Send messages on one channel and wait until the broker has confirmed all of them
+     *
+     * @throws org.springframework.amqp.AmqpException if a message is nacked or not confirmed in time
+     */
+    public void publishConfirmed(List<GameResultMessage> messages) {
+        confirmLatency.record(() -> rabbitTemplate.invoke(operations -> {
+            long now = System.currentTimeMillis();
+            for (GameResultMessage message : messages) {
+                message.setPublishedAt(now);
+                if (shards > 0) {
+                    int shard = RabbitMQConfig.shardFor(message.getPlayerName(), shards);
+                    operations.convertAndSend(RabbitMQConfig.GAME_RESULT_EXCHANGE, RabbitMQConfig.shardRoutingKey(shard), message);
+                } else {
+                    operations.convertAndSend(RabbitMQConfig.GAME_RESULT_QUEUE, message);
+                }
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutMillis);
+            return null;
+        }));
+        published.increment(messages.size());
+    }
+}
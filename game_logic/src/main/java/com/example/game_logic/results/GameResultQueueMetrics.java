@@ -0,0 +1,66 @@
+package com.example.game_logic.results;
+
+import com.example.game_logic.config.RabbitMQConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Backlog gauges for the result pipeline as seen from the producer: messages waiting in each
+ * result queue and results waiting in the outbox. Refreshed on a schedule so scraping the
+ * gauges never calls the broker or the database.
+ */
+@Component
+public class GameResultQueueMetrics {
+
+    private final AmqpAdmin amqpAdmin;
+    private final GameResultOutboxRepo outboxRepo;
+    private final Map<String, AtomicLong> queueBacklog = new LinkedHashMap<>();
+    private final AtomicLong outboxBacklog = new AtomicLong();
+
+    public GameResultQueueMetrics(AmqpAdmin amqpAdmin,
+                                  GameResultOutboxRepo outboxRepo,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${game.results.shards:0}") int shards) {
+        this.amqpAdmin = amqpAdmin;
+        this.outboxRepo = outboxRepo;
+
+        List<String> queues = new ArrayList<>();
+        if (shards > 0) {
+            for (int shard = 0; shard < shards; shard++) {
+                queues.add(RabbitMQConfig.shardQueue(shard));
+            }
+        } else {
+            queues.add(RabbitMQConfig.GAME_RESULT_QUEUE);
+        }
+        for (String queue : queues) {
+            AtomicLong backlog = new AtomicLong();
+            queueBacklog.put(queue, backlog);
+            Gauge.builder("game.results.queue.backlog", backlog, AtomicLong::get).tag("queue", queue).register(meterRegistry);
+        }
+        Gauge.builder("game.results.outbox.backlog", outboxBacklog, AtomicLong::get).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${game.results.metrics.refresh-ms:15000}")
+    public void refresh() {
+        try {
+            for (Map.Entry<String, AtomicLong> entry : queueBacklog.entrySet()) {
+                QueueInformation info = amqpAdmin.getQueueInfo(entry.getKey());
+                entry.getValue().set(info == null ? 0 : info.getMessageCount());
+            }
+            outboxBacklog.set(outboxRepo.count());
+        } catch (RuntimeException e) {
+            // Broker or database unavailable, keep the last known values
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.game_logic;
+
+import com.example.game_logic.config.GameResultBinaryConverter;
+import com.example.game_logic.gamestate.GameResultMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameResultBinaryConverterTest {
+
+    private final Jackson2JsonMessageConverter json = new Jackson2JsonMessageConverter();
+    private final GameResultBinaryConverter binary = new GameResultBinaryConverter(json);
+
+    @Test
+    void roundTrip_ShouldKeepAllFields() {
+        // Arrange
+        GameResultMessage original = new GameResultMessage("Åse Ødegård", -15, 22, 17);
+
+        // Act
+        Message message = binary.toMessage(original, new MessageProperties());
+        GameResultMessage decoded = (GameResultMessage) binary.fromMessage(message);
+
+        // Assert
+        assertEquals(GameResultBinaryConverter.CONTENT_TYPE, message.getMessageProperties().getContentType());
+        assertEquals("Åse Ødegård", decoded.getPlayerName());
+        assertEquals(-15, decoded.getPlayerScore());
+        assertEquals(22, decoded.getComputerScore());
+        assertEquals(17, decoded.getRounds());
+    }
+
+    @Test
+    void roundTrip_ShouldKeepGameIdAndPublishTime() {
+        GameResultMessage original = new GameResultMessage(42L, "Bob", 1, 2, 3);
+        original.setPublishedAt(1_700_000_000_123L);
+        Message message = binary.toMessage(original, new MessageProperties());
+
+        GameResultMessage decoded = (GameResultMessage) binary.fromMessage(message);
+
+        assertEquals(42L, decoded.getGameId());
+        assertEquals(1_700_000_000_123L, decoded.getPublishedAt());
+        assertEquals("Bob", decoded.getPlayerName());
+    }
+
+    @Test
+    void decode_ShouldReadVersion1WithoutGameId() {
+        // version 1, name "Bob", scores 4, 5, 6
+        byte[] version1 = {1, 0, 0, 0, 3, 'B', 'o', 'b', 0, 0, 0, 4, 0, 0, 0, 5, 0, 0, 0, 6};
+
+        GameResultMessage decoded = GameResultBinaryConverter.decode(version1);
+
+        assertNull(decoded.getGameId());
+        assertNull(decoded.getPublishedAt());
+        assertEquals("Bob", decoded.getPlayerName());
+        assertEquals(6, decoded.getRounds());
+    }
+
+    @Test
+    void roundTrip_ShouldKeepNullPlayerName() {
+        Message message = binary.toMessage(new GameResultMessage(null, 1, 2, 3), new MessageProperties());
+
+        GameResultMessage decoded = (GameResultMessage) binary.fromMessage(message);
+
+        assertNull(decoded.getPlayerName());
+        assertNull(decoded.getGameId());
+        assertEquals(3, decoded.getRounds());
+    }
+
+    @Test
+    void fromMessage_ShouldFallBackToJsonForOtherContentTypes() {
+        Message message = json.toMessage(new GameResultMessage("Bob", 4, 5, 6), new MessageProperties());
+
+        GameResultMessage decoded = (GameResultMessage) binary.fromMessage(message);
+
+        assertEquals("Bob", decoded.getPlayerName());
+    }
+
+    @Test
+    void decode_ShouldRejectUnknownVersionAndTruncatedBody() {
+        byte[] body = GameResultBinaryConverter.encode(new GameResultMessage("Bob", 4, 5, 6));
+        byte[] truncated = Arrays.copyOf(body, body.length - 2);
+        body[0] = 99;
+
+        assertThrows(MessageConversionException.class, () -> GameResultBinaryConverter.decode(body));
+        assertThrows(MessageConversionException.class, () -> GameResultBinaryConverter.decode(truncated));
+    }
+
+    /**
+     * Throughput of JSON vs binary on the producer (toMessage) and consumer (fromMessage) side.
+     * Run with: mvn test -Dtest=GameResultBinaryConverterTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmark_JsonVsBinary() {
+        GameResultMessage result = new GameResultMessage("TournamentPlayer42", -12, 31, 24);
+        int iterations = 1_000_000;
+
+        for (int round = 0; round < 3; round++) { // first rounds are warm-up
+            report("json", json, result, iterations);
+            report("binary", binary, result, iterations);
+        }
+    }
+
+    private void report(String name, MessageConverter converter, GameResultMessage result, int iterations) {
+        Message sample = converter.toMessage(result, new MessageProperties());
+        long blackhole = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            blackhole += converter.toMessage(result, new MessageProperties()).getBody().length;
+        }
+        long produceNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            blackhole += ((GameResultMessage) converter.fromMessage(sample)).getRounds();
+        }
+        long consumeNanos = System.nanoTime() - start;
+
+        System.out.printf("%-6s %4d bytes  produce %,12.0f msg/s  consume %,12.0f msg/s  (%d)%n",
+                name, sample.getBody().length,
+                iterations / (produceNanos / 1e9), iterations / (consumeNanos / 1e9), blackhole);
+    }
+}
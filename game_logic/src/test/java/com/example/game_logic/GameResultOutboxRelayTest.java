@@ -0,0 +1,45 @@
+package com.example.game_logic;
+
+import com.example.game_logic.results.GameResultOutboxRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GameResultOutboxRelayTest {
+
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void relay_WhilePublishingFails_ShouldBackOffExponentiallyUpToTheCapAndResetOnSuccess() {
+        // Arrange: the broker is down for the first four attempts, backoff is capped at 8 polls
+        GameResultOutboxRelay relay = new GameResultOutboxRelay(null, null, transactionTemplate, meterRegistry,
+                100, 1000, 8000);
+        List<Integer> attempts = new ArrayList<>();
+        int[] poll = {0};
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            attempts.add(poll[0]);
+            if (attempts.size() <= 4) {
+                throw new IllegalStateException("broker down");
+            }
+            return 0;
+        });
+
+        // Act
+        for (poll[0] = 1; poll[0] <= 25; poll[0]++) {
+            relay.relay();
+        }
+
+        // Assert: attempts 2, 4, 8, then 8 polls apart, then every poll again
+        assertEquals(List.of(1, 3, 7, 15, 23, 24, 25), attempts);
+        assertEquals(4.0, meterRegistry.get("game.results.outbox.relay.failures").counter().count());
+    }
+}
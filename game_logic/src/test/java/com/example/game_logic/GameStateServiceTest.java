@@ -1,12 +1,19 @@
 package com.example.game_logic;
 
+import com.example.game_logic.ai.ComputerMove;
+import com.example.game_logic.ai.ComputerStrategies;
+import com.example.game_logic.ai.ComputerStrategy;
+import com.example.game_logic.ai.Difficulty;
+import com.example.game_logic.ai.SpeculativeComputerTurns;
 import com.example.game_logic.card.Card;
 import com.example.game_logic.card.CardService;
 import com.example.game_logic.card.Suite;
-import com.example.game_logic.config.RabbitMQConfig;
 import com.example.game_logic.decks.Deck;
 import com.example.game_logic.decks.DeckService;
 import com.example.game_logic.gamestate.*;
+import com.example.game_logic.results.GameResultOutboxEntry;
+import com.example.game_logic.results.GameResultOutboxRepo;
+import com.example.game_logic.results.GameResultPublisher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,12 +21,16 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -38,7 +49,19 @@ class GameStateServiceTest {
     private GameStateRepo gameStateRepo;
 
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private GameResultPublisher gameResultPublisher;
+
+    @Mock
+    private GameResultOutboxRepo gameResultOutboxRepo;
+
+    @Mock
+    private ComputerStrategies computerStrategies;
+
+    @Mock
+    private SpeculativeComputerTurns speculativeComputerTurns;
+
+    @Mock
+    private ComputerStrategy hardStrategy;
 
     @InjectMocks
     private GameStateService gameStateService;
@@ -362,6 +385,33 @@ class GameStateServiceTest {
         assertFalse(response.isGameOver());
     }
 
+    @Test
+    void getGameStateResponses_ShouldKeepOrderAndMarkMissingGames() {
+        // Arrange
+        List<Deck> decks = Arrays.asList(playerHand, computerHand, mainDeck, openTableDeck);
+        when(gameStateRepo.findAllWithDecks(anyCollection())).thenReturn(List.of(testGameState));
+        when(cardService.getAllCards()).thenReturn(new ArrayList<>());
+        when(deckService.getDecksWithCards(anyCollection(), anyMap())).thenAnswer(invocation -> {
+            Map<Long, Deck> byId = new HashMap<>();
+            decks.forEach(deck -> byId.put(deck.getDeckId(), deck));
+            return byId;
+        });
+        when(cardService.calculateHandScore(anyList())).thenReturn(10, 12);
+
+        // Act
+        List<GameStateResponse> responses = gameStateService.getGameStateResponses(Arrays.asList(99L, 1L));
+
+        // Assert
+        assertEquals(2, responses.size());
+        assertEquals(99L, responses.get(0).getGameId());
+        assertTrue(responses.get(0).isNotFound());
+        assertEquals(1L, responses.get(1).getGameId());
+        assertFalse(responses.get(1).isNotFound());
+        assertEquals(playerHand.getCards().size(), responses.get(1).getPlayerHand().size());
+        assertEquals(mainDeck.getCardIds().size(), responses.get(1).getMainDeckSize());
+        verify(deckService, never()).getDeck(anyLong());
+    }
+
     @Test
     void endGameManually_ShouldSetGameOverAndCalculateScores() {
         // Arrange
@@ -386,13 +436,14 @@ class GameStateServiceTest {
     }
 
     @Test
-    void saveGameResultViaQueue_ShouldSendMessageToRabbitMQ() {
+    void saveGameResultViaQueue_ShouldWriteResultToOutbox() {
         // Arrange
         Long gameId = 1L;
         String playerName = "TestPlayer";
         testGameState.setPlayerScore(15);
         testGameState.setComputerScore(20);
         testGameState.setRoundNumber(5);
+        testGameState.setGameOver(true);
 
         when(gameStateRepo.findById(gameId)).thenReturn(Optional.of(testGameState));
 
@@ -400,17 +451,63 @@ class GameStateServiceTest {
         gameStateService.saveGameResultViaQueue(gameId, playerName);
 
         // Assert
-        ArgumentCaptor<GameResultMessage> messageCaptor = ArgumentCaptor.forClass(GameResultMessage.class);
-        verify(rabbitTemplate).convertAndSend(
-                eq(RabbitMQConfig.GAME_RESULT_QUEUE),
-                messageCaptor.capture()
-        );
-
-        GameResultMessage sentMessage = messageCaptor.getValue();
-        assertEquals(playerName, sentMessage.getPlayerName());
-        assertEquals(15, sentMessage.getPlayerScore());
-        assertEquals(20, sentMessage.getComputerScore());
-        assertEquals(5, sentMessage.getRounds());
+        ArgumentCaptor<GameResultOutboxEntry> entryCaptor = ArgumentCaptor.forClass(GameResultOutboxEntry.class);
+        verify(gameResultOutboxRepo).save(entryCaptor.capture());
+
+        GameResultOutboxEntry entry = entryCaptor.getValue();
+        assertEquals(gameId, entry.getGameId());
+        assertEquals(playerName, entry.getPlayerName());
+        assertEquals(15, entry.getPlayerScore());
+        assertEquals(20, entry.getComputerScore());
+        assertEquals(5, entry.getRounds());
+        assertTrue(testGameState.isResultRecorded());
+        verifyNoInteractions(gameResultPublisher);
+    }
+
+    @Test
+    void saveGameResultViaQueue_WhenGameNotOver_ShouldRejectWith409() {
+        // Arrange
+        when(gameStateRepo.findById(1L)).thenReturn(Optional.of(testGameState));
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> gameStateService.saveGameResultViaQueue(1L, "TestPlayer"));
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        assertFalse(testGameState.isResultRecorded());
+        verifyNoInteractions(gameResultOutboxRepo);
+    }
+
+    @Test
+    void saveGameResultViaQueue_WhenAlreadyRecorded_ShouldNotWriteAgain() {
+        // Arrange
+        testGameState.setGameOver(true);
+        testGameState.setResultRecorded(true);
+        when(gameStateRepo.findById(1L)).thenReturn(Optional.of(testGameState));
+
+        // Act
+        gameStateService.saveGameResultViaQueue(1L, "TestPlayer");
+
+        // Assert
+        verifyNoInteractions(gameResultOutboxRepo);
+    }
+
+    @Test
+    void endGameManually_WithPlayerName_ShouldRecordResultInSameCall() {
+        // Arrange
+        testGameState.setPlayerName("TestPlayer");
+        when(gameStateRepo.findById(1L)).thenReturn(Optional.of(testGameState));
+        when(deckService.getDeck(playerHand.getDeckId())).thenReturn(playerHand);
+        when(deckService.getDeck(computerHand.getDeckId())).thenReturn(computerHand);
+        when(deckService.getDeck(mainDeck.getDeckId())).thenReturn(mainDeck);
+        when(deckService.getDeck(openTableDeck.getDeckId())).thenReturn(openTableDeck);
+        when(cardService.calculateHandScore(anyList())).thenReturn(15, 20);
+
+        // Act
+        gameStateService.endGameManually(1L);
+
+        // Assert
+        verify(gameResultOutboxRepo).save(any(GameResultOutboxEntry.class));
+        assertTrue(testGameState.isResultRecorded());
     }
 
     @Test
@@ -488,8 +585,138 @@ class GameStateServiceTest {
         GameState savedState = captor.getValue();
         assertEquals(initialRound, savedState.getRoundNumber()); // Should not increment when game over
     }
-}
 
+    @Test
+    void drawCard_OnHardGame_ShouldSpeculateEveryPlayerOutcome() {
+        // Arrange
+        testGameState.setDifficulty(Difficulty.HARD);
+        Card drawnCard = createCard(1L, 7, Suite.HEARTS);
+        when(gameStateRepo.findById(1L)).thenReturn(Optional.of(testGameState));
+        when(deckService.getDeck(mainDeck.getDeckId())).thenReturn(mainDeck);
+        when(deckService.getDeck(openTableDeck.getDeckId())).thenReturn(openTableDeck);
+        when(deckService.getDeck(playerHand.getDeckId())).thenReturn(playerHand);
+        when(deckService.getDeck(computerHand.getDeckId())).thenReturn(computerHand);
+        when(cardService.getCardById(1L)).thenReturn(drawnCard);
+        when(cardService.calculateCardScore(any(Card.class))).thenReturn(5);
+        when(computerStrategies.forDifficulty(Difficulty.HARD)).thenReturn(hardStrategy);
 
+        // Act
+        gameStateService.drawCard(1L, "mainDeck");
+
+        // Assert: discard plus a swap into each of the four hand slots
+        ArgumentCaptor<Map<Integer, SpeculativeComputerTurns.Outcome>> outcomes = ArgumentCaptor.forClass(Map.class);
+        verify(speculativeComputerTurns).start(eq(1L), eq(1), eq("mainDeck"), eq(1L), same(hardStrategy), outcomes.capture());
+        assertEquals(Set.of(SpeculativeComputerTurns.DISCARD, 0, 1, 2, 3), outcomes.getValue().keySet());
+    }
+
+    @Test
+    void completeTurn_OnHardGameWithoutSpeculation_ShouldPlayStrategyMove() {
+        // Arrange
+        testGameState.setDifficulty(Difficulty.HARD);
+        Card drawnCard = createCard(30L, 5, Suite.HEARTS);
+        stubStrategyTurn();
+        when(deckService.getCardFromDeck(playerHand.getDeckId(), 0)).thenReturn(playerHand.getCards().get(0));
+        when(cardService.calculateCardScore(any(Card.class))).thenReturn(5);
+        when(hardStrategy.planMove(any(), any())).thenReturn(new ComputerMove(false, 2));
+
+        // Act
+        gameStateService.completeTurn(1L, drawnCard, true, 0, "mainDeck");
+
+        // Assert: asked for the outcome the player chose, then planned afresh
+        verify(speculativeComputerTurns).take(1L, 1, "mainDeck", 30L, 0);
+        verify(hardStrategy).planMove(any(), any());
+        verify(deckService).removeDeckCards(computerHand.getDeckId(), 22L);
+        verify(deckService).addCardToDeck(eq(computerHand.getDeckId()), argThat(card -> card.getId() == 40L));
+    }
+
+    @Test
+    void completeTurn_WithMatchingSpeculation_ShouldPlaySpeculativeMove() {
+        // Arrange
+        testGameState.setDifficulty(Difficulty.HARD);
+        Card drawnCard = createCard(30L, 5, Suite.HEARTS);
+        stubStrategyTurn();
+        when(speculativeComputerTurns.take(1L, 1, "mainDeck", 30L, SpeculativeComputerTurns.DISCARD))
+                .thenReturn(new ComputerMove(false, 1));
+
+        // Act
+        gameStateService.completeTurn(1L, drawnCard, false, null, "mainDeck");
+
+        // Assert
+        verify(hardStrategy, never()).planMove(any(), any());
+        verify(deckService).removeDeckCards(computerHand.getDeckId(), 21L);
+    }
+
+    @Test
+    void completeTurn_WhenSpeculatedOpenTableCardIsGone_ShouldPlanAgain() {
+        // Arrange: planned to take the open table card, but the table is empty now
+        testGameState.setDifficulty(Difficulty.HARD);
+        Card drawnCard = createCard(30L, 5, Suite.HEARTS);
+        stubStrategyTurn();
+        when(cardService.calculateCardScore(any(Card.class))).thenReturn(5);
+        when(speculativeComputerTurns.take(1L, 1, "mainDeck", 30L, SpeculativeComputerTurns.DISCARD))
+                .thenReturn(new ComputerMove(true, 0));
+        when(hardStrategy.planMove(any(), any())).thenReturn(new ComputerMove(false, -1));
+
+        // Act
+        gameStateService.completeTurn(1L, drawnCard, false, null, "mainDeck");
+
+        // Assert
+        verify(hardStrategy).planMove(any(), any());
+        verify(deckService, never()).removeDeckCards(eq(computerHand.getDeckId()), anyLong());
+    }
 
+    @Test
+    void completeTurn_OnEasyGame_ShouldNotUseStrategiesOrSpeculation() {
+        // Arrange
+        Card drawnCard = createCard(30L, 5, Suite.HEARTS);
+        stubStrategyTurn();
+        when(cardService.calculateCardScore(any(Card.class))).thenReturn(5);
+
+        // Act
+        gameStateService.completeTurn(1L, drawnCard, false, null, "mainDeck");
+
+        // Assert
+        verifyNoInteractions(computerStrategies, speculativeComputerTurns);
+    }
+
+    @Test
+    void endGameManually_OnHardGame_ShouldDiscardSpeculation() {
+        // Arrange
+        testGameState.setDifficulty(Difficulty.HARD);
+        when(gameStateRepo.findById(1L)).thenReturn(Optional.of(testGameState));
+        when(deckService.getDeck(anyLong())).thenAnswer(invocation -> deck(invocation.getArgument(0)));
+        when(gameStateRepo.save(any(GameState.class))).thenReturn(testGameState);
+
+        // Act
+        gameStateService.endGameManually(1L);
+
+        // Assert
+        verify(speculativeComputerTurns).discard(1L);
+    }
+
+    @Test
+    void endGame_ShouldDiscardSpeculation() {
+        gameStateService.endGame(1L);
+
+        verify(speculativeComputerTurns).discard(1L);
+        verify(gameStateRepo).deleteById(1L);
+    }
 
+    /**
+     * Decks, draws and saves for a completeTurn in which the computer draws card 40 from the main deck
+     */
+    private void stubStrategyTurn() {
+        when(gameStateRepo.findById(1L)).thenReturn(Optional.of(testGameState));
+        when(deckService.getDeck(anyLong())).thenAnswer(invocation -> deck(invocation.getArgument(0)));
+        when(deckService.drawCards(mainDeck.getDeckId(), 1)).thenReturn(List.of(40L));
+        when(cardService.getCardById(40L)).thenReturn(createCard(40L, 2, Suite.CLUBS));
+        lenient().when(computerStrategies.forDifficulty(Difficulty.HARD)).thenReturn(hardStrategy);
+        when(gameStateRepo.save(any(GameState.class))).thenReturn(testGameState);
+    }
+
+    private Deck deck(Long deckId) {
+        return List.of(mainDeck, playerHand, computerHand, openTableDeck).stream()
+                .filter(deck -> deck.getDeckId().equals(deckId))
+                .findFirst().orElseThrow();
+    }
+}
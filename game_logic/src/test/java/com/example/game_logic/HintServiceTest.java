@@ -0,0 +1,99 @@
+package com.example.game_logic;
+
+import com.example.game_logic.card.Card;
+import com.example.game_logic.card.CardBits;
+import com.example.game_logic.card.CardService;
+import com.example.game_logic.card.Suite;
+import com.example.game_logic.decks.Deck;
+import com.example.game_logic.gamestate.GameState;
+import com.example.game_logic.gamestate.GameStateRepo;
+import com.example.game_logic.gamestate.HintResponse;
+import com.example.game_logic.gamestate.HintService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HintServiceTest {
+
+    @Mock
+    private GameStateRepo gameStateRepo;
+
+    private HintService hintService;
+    private GameState gameState;
+
+    @BeforeEach
+    void setUp() {
+        // Same ids and scores as CardService.initCards
+        List<Card> cards = new ArrayList<>();
+        long id = 1;
+        for (Suite suite : Suite.values()) {
+            for (int value = 1; value <= 13; value++) {
+                cards.add(new Card(id++, value, suite, null));
+            }
+        }
+        CardService realScores = new CardService(null);
+        CardService cardService = mock(CardService.class);
+        when(cardService.getAllCards()).thenReturn(cards);
+        when(cardService.calculateCardScore(any(Card.class)))
+                .thenAnswer(invocation -> realScores.calculateCardScore(invocation.getArgument(0)));
+
+        hintService = new HintService(gameStateRepo, new CardBits(cardService));
+
+        gameState = new GameState();
+        gameState.setGameId(1L);
+        gameState.setRoundNumber(3);
+        gameState.setPlayerHand(deck(2L, 3L, 4L, 12L)); // spades 2, 3, 4, queen -> worst is 10
+        gameState.setOpenTableDeck(deck(5L, 14L)); // spades 5, hearts ace on top
+    }
+
+    private Deck deck(Long... cardIds) {
+        Deck deck = new Deck();
+        deck.setCardIds(new ArrayList<>(Arrays.asList(cardIds)));
+        return deck;
+    }
+
+    @Test
+    void getHint_ShouldPreferOpenTableAce() {
+        // Arrange
+        when(gameStateRepo.findById(1L)).thenReturn(Optional.of(gameState));
+
+        // Act
+        HintResponse hint = hintService.getHint(1L);
+
+        // Assert
+        assertEquals("openTable", hint.getRecommendedSource());
+        assertEquals(15.0, hint.getOpenTableImprovement());
+        assertEquals(46, hint.getUnseenCards());
+        assertTrue(hint.getMainDeckExpectedImprovement() > 0.0);
+        assertTrue(hint.getMainDeckExpectedImprovement() < hint.getOpenTableImprovement());
+    }
+
+    @Test
+    void getHint_ShouldBeCachedUntilRoundChanges() {
+        // Arrange
+        when(gameStateRepo.findById(1L)).thenReturn(Optional.of(gameState));
+        HintResponse first = hintService.getHint(1L);
+
+        // Act
+        HintResponse sameRound = hintService.getHint(1L);
+        gameState.setRoundNumber(4);
+        HintResponse nextRound = hintService.getHint(1L);
+
+        // Assert
+        assertSame(first, sameRound);
+        assertNotSame(first, nextRound);
+        assertEquals(4, nextRound.getRoundNumber());
+    }
+}
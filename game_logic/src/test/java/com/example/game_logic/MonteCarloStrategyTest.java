@@ -0,0 +1,91 @@
+package com.example.game_logic;
+
+import com.example.game_logic.ai.ComputerView;
+import com.example.game_logic.ai.MonteCarloStrategy;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloStrategyTest {
+
+    private static final int[] UNSEEN = {
+            2, 3, 4, 5, 6, 7, 8, 9, 10, 10, 10, 10, 0, 0, -5, -5, 9, 8,
+            7, 6, 5, 4, 3, 2, 10, 10, 10, 10, 0, 0, 2, 3, 4, 5, 6, 7
+    };
+
+    private ForkJoinPool pool;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private ComputerView view(int[] hand, int... openTable) {
+        return new ComputerView(hand, openTable, UNSEEN, UNSEEN.length - 4);
+    }
+
+    @Test
+    void takeOpenTableCard_ShouldTakeMinusTen() {
+        // Arrange
+        MonteCarloStrategy strategy = new MonteCarloStrategy(pool, meterRegistry, 50, 20000, 2);
+
+        // Act & Assert
+        assertTrue(strategy.takeOpenTableCard(view(new int[]{10, 3, 2, 0}, 9, -10)));
+        assertTrue(meterRegistry.find("game.ai.rollouts").summary().count() > 0);
+    }
+
+    @Test
+    void chooseSwapIndex_ShouldReplaceWorstCardWithAce() {
+        // Arrange
+        MonteCarloStrategy strategy = new MonteCarloStrategy(pool, meterRegistry, 50, 20000, 2);
+
+        // Act
+        int swapIndex = strategy.chooseSwapIndex(view(new int[]{10, 3, 2, 0}, 9), -5);
+
+        // Assert
+        assertEquals(0, swapIndex);
+    }
+
+    @Test
+    void chooseSwapIndex_WithMoreRolloutsThanTheBudget_ShouldStopAtTheDeadline() {
+        // Arrange: minutes of rollouts for a 20ms budget
+        int maxRollouts = 50_000_000;
+        MonteCarloStrategy strategy = new MonteCarloStrategy(pool, meterRegistry, 20, maxRollouts, 2);
+
+        // Act
+        int swapIndex = strategy.chooseSwapIndex(view(new int[]{10, 3, 2, 0}, 9), 4);
+
+        // Assert: the rollouts were cut by the time budget, not run to the rollout limit
+        DistributionSummary samples = meterRegistry.find("game.ai.rollouts").summary();
+        assertTrue(samples.max() < maxRollouts, "ran " + samples.max() + " rollouts");
+        assertEquals(0.0, meterRegistry.find("game.ai.fallbacks").tag("reason", "busy").counter().count());
+        assertEquals(1, meterRegistry.find("game.ai.move.latency").tag("decision", "swap").timer().count());
+        assertTrue(swapIndex >= -1 && swapIndex < 4);
+    }
+
+    @Test
+    void chooseSwapIndex_WhenNoSearchPermits_ShouldFallBackToGreedy() {
+        // Arrange
+        MonteCarloStrategy strategy = new MonteCarloStrategy(pool, meterRegistry, 50, 20000, 0);
+
+        // Act
+        int swapIndex = strategy.chooseSwapIndex(view(new int[]{3, 10, 2, 0}, 9), 9);
+
+        // Assert
+        assertEquals(1, swapIndex);
+        assertEquals(1.0, meterRegistry.find("game.ai.fallbacks").tag("reason", "busy").counter().count());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.game_logic;
+
+import com.example.game_logic.ai.ComputerView;
+import com.example.game_logic.ai.Difficulty;
+import com.example.game_logic.ai.PolicyTableStrategy;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicyTableStrategyTest {
+
+    private final PolicyTableStrategy strategy = new PolicyTableStrategy(new ClassPathResource("ai/policy-table.bin"));
+
+    private ComputerView view(int[] hand, int mainDeckSize, int... openTable) {
+        return new ComputerView(hand, openTable, new int[mainDeckSize + 4], mainDeckSize);
+    }
+
+    @Test
+    void difficulty_ShouldBeExpert() {
+        assertEquals(Difficulty.EXPERT, strategy.difficulty());
+    }
+
+    @Test
+    void takeOpenTableCard_ShouldTakeMinusTenAndLeaveNine() {
+        assertTrue(strategy.takeOpenTableCard(view(new int[]{10, 3, 2, 0}, 30, -10)));
+        assertFalse(strategy.takeOpenTableCard(view(new int[]{10, 3, 2, 0}, 30, 9)));
+    }
+
+    @Test
+    void chooseSwapIndex_ShouldMapSortedPositionBackToHandIndex() {
+        // Ace should replace the 10, which sits at index 1 in an unsorted hand
+        assertEquals(1, strategy.chooseSwapIndex(view(new int[]{3, 10, 2, 0}, 30), -5));
+        assertEquals(-1, strategy.chooseSwapIndex(view(new int[]{3, 10, 2, 0}, 30), 9));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.game_logic;
+
+import com.example.game_logic.ai.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpeculativeComputerTurnsTest {
+
+    private ExecutorService executor;
+    private SpeculativeComputerTurns speculativeTurns;
+
+    /** Always draws from the deck and swaps into the index given by the top open table card */
+    private final ComputerStrategy strategy = new ComputerStrategy() {
+        @Override
+        public Difficulty difficulty() {
+            return Difficulty.HARD;
+        }
+
+        @Override
+        public boolean takeOpenTableCard(ComputerView view) {
+            return false;
+        }
+
+        @Override
+        public int chooseSwapIndex(ComputerView view, int drawnScore) {
+            return view.openTableScores()[view.openTableScores().length - 1];
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        speculativeTurns = new SpeculativeComputerTurns(executor, new SimpleMeterRegistry(), 10, 1000, 60000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private SpeculativeComputerTurns.Outcome outcome(int topOpenTableScore) {
+        ComputerView view = new ComputerView(new int[]{5, 6, 7, 8}, new int[]{topOpenTableScore}, new int[]{2, 3, 4, 9, 10}, 1);
+        return new SpeculativeComputerTurns.Outcome(view, 2);
+    }
+
+    @Test
+    void take_WhenDrawMatches_ShouldReturnMoveForChosenOutcome() {
+        // Arrange
+        speculativeTurns.start(1L, 3, "mainDeck", 40L, strategy,
+                Map.of(SpeculativeComputerTurns.DISCARD, outcome(0), 0, outcome(1), 1, outcome(2)));
+
+        // Act
+        ComputerMove move = speculativeTurns.take(1L, 3, "mainDeck", 40L, 1);
+
+        // Assert
+        assertNotNull(move);
+        assertFalse(move.fromOpenTable());
+        assertEquals(2, move.swapIndex());
+    }
+
+    @Test
+    void take_WhenDrawDoesNotMatch_ShouldReturnNull() {
+        // Arrange
+        speculativeTurns.start(1L, 3, "mainDeck", 40L, strategy, Map.of(SpeculativeComputerTurns.DISCARD, outcome(0)));
+
+        // Act & Assert
+        assertNull(speculativeTurns.take(1L, 4, "mainDeck", 40L, SpeculativeComputerTurns.DISCARD));
+        assertNull(speculativeTurns.take(1L, 3, "mainDeck", 40L, SpeculativeComputerTurns.DISCARD)); // already claimed
+    }
+
+    @Test
+    void discard_ShouldDropPendingSpeculation() {
+        // Arrange
+        speculativeTurns.start(1L, 3, "openTable", 40L, strategy, Map.of(SpeculativeComputerTurns.DISCARD, outcome(0)));
+
+        // Act
+        speculativeTurns.discard(1L);
+
+        // Assert
+        assertNull(speculativeTurns.take(1L, 3, "openTable", 40L, SpeculativeComputerTurns.DISCARD));
+    }
+}
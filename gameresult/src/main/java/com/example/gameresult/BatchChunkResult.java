@@ -0,0 +1,17 @@
+package com.example.gameresult;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class BatchChunkResult {
+    private int chunk;
+    private int accepted;   // stored
+    private int duplicates; // game already stored
+    private int rejected;   // failed validation or could not be saved
+}
@@ -0,0 +1,20 @@
+package com.example.gameresult;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class BatchIngestResponse {
+    private List<BatchChunkResult> chunks;
+    private int accepted;
+    private int duplicates;
+    private int rejected;
+    private String error; // set if the body could not be read to the end, earlier chunks are still saved
+}
@@ -0,0 +1,127 @@
+package com.example.gameresult;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Saves a large upload of results, a JSON array or newline-delimited JSON of
+ * SaveResultRequest. The body is parsed one result at a time and saved in chunks, each
+ * chunk with one multi-row insert in its own transaction, so memory use stays at one chunk
+ * and a bad row or chunk does not undo the rest.
+ */
+@Service
+public class BatchResultIngest {
+
+    private static final int MAX_PLAYER_NAME_LENGTH = 255;
+
+    private final GameResultService gameResultService;
+    private final GameResultPartitions gameResultPartitions;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public BatchResultIngest(GameResultService gameResultService, GameResultPartitions gameResultPartitions,
+                             ObjectMapper objectMapper,
+                             @Value("${game.results.batch.chunk-size:1000}") int chunkSize) {
+        this.gameResultService = gameResultService;
+        this.gameResultPartitions = gameResultPartitions;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    public BatchIngestResponse ingest(InputStream body) {
+        List<BatchChunkResult> chunks = new ArrayList<>();
+        List<GameResult> pending = new ArrayList<>(chunkSize);
+        int rejected = 0;
+        String error = null;
+
+        // readValues walks the elements of a top-level array, or a sequence of root values
+        try (MappingIterator<SaveResultRequest> requests = objectMapper.readerFor(SaveResultRequest.class).readValues(body)) {
+            while (true) {
+                GameResult result;
+                try {
+                    if (!requests.hasNextValue()) {
+                        break;
+                    }
+                    result = toResult(requests.nextValue());
+                } catch (JsonMappingException e) {
+                    result = null; // well-formed but not a result, skip to the next one
+                }
+
+                if (result == null) {
+                    rejected++;
+                } else {
+                    pending.add(result);
+                }
+                if (pending.size() + rejected >= chunkSize) {
+                    chunks.add(saveChunk(chunks.size(), pending, rejected));
+                    pending.clear();
+                    rejected = 0;
+                }
+            }
+        } catch (IOException e) {
+            // Broken JSON, nothing after this point can be read
+            error = "Could not read results after chunk " + chunks.size() + ": " + e.getMessage();
+        }
+        if (!pending.isEmpty() || rejected > 0) {
+            chunks.add(saveChunk(chunks.size(), pending, rejected));
+        }
+
+        BatchIngestResponse response = new BatchIngestResponse(chunks, 0, 0, 0, error);
+        for (BatchChunkResult chunk : chunks) {
+            response.setAccepted(response.getAccepted() + chunk.getAccepted());
+            response.setDuplicates(response.getDuplicates() + chunk.getDuplicates());
+            response.setRejected(response.getRejected() + chunk.getRejected());
+        }
+        return response;
+    }
+
+    private BatchChunkResult saveChunk(int chunk, List<GameResult> results, int rejected) {
+        if (results.isEmpty()) {
+            return new BatchChunkResult(chunk, 0, 0, rejected);
+        }
+        try {
+            // Newest last, so results newer than the recent ones are appended in order
+            results.sort(Comparator.comparing(GameResult::getGameDate));
+            int accepted = gameResultService.importGameResults(results).size();
+            return new BatchChunkResult(chunk, accepted, results.size() - accepted, rejected);
+        } catch (RuntimeException e) {
+            System.err.println("Failed to save batch chunk " + chunk + " of " + results.size() + " results: " + e.getMessage());
+            return new BatchChunkResult(chunk, 0, 0, rejected + results.size());
+        }
+    }
+
+    /**
+     * The result to store for a request, or null if the request is not valid
+     */
+    private GameResult toResult(SaveResultRequest request) {
+        String playerName = request.getPlayerName();
+        if (playerName == null || playerName.isBlank() || playerName.length() > MAX_PLAYER_NAME_LENGTH) {
+            return null;
+        }
+        if (request.getRounds() < 0) {
+            return null;
+        }
+        LocalDateTime gameDate = request.getGameDate() == null ? LocalDateTime.now() : request.getGameDate();
+        if (gameDate.isAfter(LocalDateTime.now())) {
+            return null;
+        }
+        try {
+            gameResultPartitions.ensurePartition(YearMonth.from(gameDate));
+        } catch (IllegalArgumentException e) {
+            return null; // month is archived, restore it first
+        }
+        return gameResultService.newGameResult(request.getGameId(), playerName, request.getPlayerScore(),
+                request.getComputerScore(), request.getRounds(), gameDate);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.gameresult;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Operator endpoints, refused by the gateway (see its SecurityConfig)
+ */
+@RestController
+@RequestMapping("/api/results/admin/dead-letters")
+public class DeadLetterController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final DeadLetterService deadLetterService;
+
+    public DeadLetterController(DeadLetterService deadLetterService) {
+        this.deadLetterService = deadLetterService;
+    }
+
+    /**
+     * Show dead letters without removing them
+     * GET /api/results/admin/dead-letters?limit=50
+     */
+    @GetMapping
+    public ResponseEntity<List<DeadLetterView>> peek(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(deadLetterService.peek(Math.min(Math.max(limit, 1), MAX_LIMIT)));
+    }
+
+    /**
+     * Send dead letters back to the queue they came from
+     * POST /api/results/admin/dead-letters/replay?limit=100
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<Integer> replay(@RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(deadLetterService.replay(Math.min(Math.max(limit, 1), MAX_LIMIT)));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.gameresult;
+
+import com.example.gameresult.config.RabbitMQConfig;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.GetResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inspect and replay messages in the game result dead-letter queue
+ */
+@Service
+public class DeadLetterService {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final GameResultRetries gameResultRetries;
+    private final DefaultMessagePropertiesConverter propertiesConverter = new DefaultMessagePropertiesConverter();
+    private final Counter replayed;
+
+    public DeadLetterService(RabbitTemplate rabbitTemplate, GameResultRetries gameResultRetries, MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.gameResultRetries = gameResultRetries;
+        this.replayed = Counter.builder("game.results.ingest.replayed").register(meterRegistry);
+    }
+
+    /**
+     * Look at up to limit dead letters from the head of the queue. They are fetched
+     * unacknowledged and put back afterwards, so the queue is left as it was.
+     */
+    public List<DeadLetterView> peek(int limit) {
+        return rabbitTemplate.execute(channel -> {
+            List<DeadLetterView> views = new ArrayList<>();
+            long lastDeliveryTag = -1;
+            for (int i = 0; i < limit; i++) {
+                GetResponse response = channel.basicGet(RabbitMQConfig.GAME_RESULT_DLQ, false);
+                if (response == null) {
+                    break;
+                }
+                lastDeliveryTag = response.getEnvelope().getDeliveryTag();
+                views.add(toView(response));
+            }
+            if (lastDeliveryTag >= 0) {
+                channel.basicNack(lastDeliveryTag, true, true);
+            }
+            return views;
+        });
+    }
+
+    /**
+     * Move up to limit dead letters back to the queue they failed on, with a fresh retry count.
+     * Each message is acknowledged only after it has been republished.
+     *
+     * @return number of messages replayed
+     */
+    public int replay(int limit) {
+        Integer count = rabbitTemplate.execute(channel -> {
+            int moved = 0;
+            for (int i = 0; i < limit; i++) {
+                GetResponse response = channel.basicGet(RabbitMQConfig.GAME_RESULT_DLQ, false);
+                if (response == null) {
+                    break;
+                }
+                AMQP.BasicProperties properties = response.getProps();
+                Map<String, Object> headers = properties.getHeaders() == null
+                        ? new HashMap<>() : new HashMap<>(properties.getHeaders());
+                Object originalQueue = headers.remove(GameResultRetries.ORIGINAL_QUEUE_HEADER);
+                headers.remove(GameResultRetries.RETRY_COUNT_HEADER);
+                headers.remove(GameResultRetries.ERROR_HEADER);
+
+                String queue = originalQueue != null ? originalQueue.toString() : RabbitMQConfig.GAME_RESULT_QUEUE;
+                channel.basicPublish("", queue, properties.builder().headers(headers).build(), response.getBody());
+                channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
+                moved++;
+            }
+            return moved;
+        });
+        int moved = count == null ? 0 : count;
+        replayed.increment(moved);
+        return moved;
+    }
+
+    private DeadLetterView toView(GetResponse response) {
+        MessageProperties properties = propertiesConverter.toMessageProperties(
+                response.getProps(), response.getEnvelope(), StandardCharsets.UTF_8.name());
+        DeadLetterView view = new DeadLetterView();
+        Object originalQueue = properties.getHeader(GameResultRetries.ORIGINAL_QUEUE_HEADER);
+        Object error = properties.getHeader(GameResultRetries.ERROR_HEADER);
+        view.setOriginalQueue(originalQueue == null ? null : originalQueue.toString());
+        view.setRetryCount(properties.getHeader(GameResultRetries.RETRY_COUNT_HEADER));
+        view.setError(error == null ? null : error.toString());
+        try {
+            view.setResult(gameResultRetries.read(new Message(response.getBody(), properties)));
+            view.setReadable(true);
+        } catch (MessageConversionException e) {
+            view.setReadable(false);
+        }
+        return view;
+    }
+}
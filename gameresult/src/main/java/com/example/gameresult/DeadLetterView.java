@@ -0,0 +1,18 @@
+package com.example.gameresult;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class DeadLetterView {
+    private String originalQueue;
+    private Integer retryCount;
+    private String error;
+    private boolean readable; // false if the payload could not be converted
+    private GameResultMessage result;
+}
@@ -12,6 +12,10 @@ import lombok.Setter;
 
 import java.time.LocalDateTime;
 
+/**
+ * Stored in game_result, partitioned by month of game_date. The partitions, indexes and
+ * game ID uniqueness (game_result_key) are managed by GameResultPartitions.
+ */
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,6 +26,7 @@ public class GameResult {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    private Long gameId; // game_logic's game ID, null for results saved before it was sent
     private String playerName;
     private int playerScore;
     private int computerScore;
@@ -0,0 +1,68 @@
+package com.example.gameresult;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Saves results in batches with one insert per batch, the default consumer mode.
+ * If the batch insert fails each result is saved on its own, so only the results that
+ * still fail go to the retry tiers and the rest of the batch is not held up.
+ */
+@Component
+@ConditionalOnProperty(name = "game.results.consumer.mode", havingValue = "batch", matchIfMissing = true)
+public class GameResultBatchConsumer {
+
+    private final GameResultService gameResultService;
+    private final GameResultRetries gameResultRetries;
+    private final GameResultMetrics gameResultMetrics;
+
+    public GameResultBatchConsumer(GameResultService gameResultService, GameResultRetries gameResultRetries,
+                                   GameResultMetrics gameResultMetrics) {
+        this.gameResultService = gameResultService;
+        this.gameResultRetries = gameResultRetries;
+        this.gameResultMetrics = gameResultMetrics;
+    }
+
+    @RabbitListener(queues = "game-result-queue", containerFactory = "batchListenerContainerFactory")
+    public void receiveGameResults(List<Message> messages) {
+        List<Message> readable = new ArrayList<>(messages.size());
+        List<GameResultMessage> received = new ArrayList<>(messages.size());
+        List<GameResult> results = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                GameResultMessage result = gameResultRetries.read(message);
+                results.add(gameResultService.newGameResult(
+                        result.getGameId(),
+                        result.getPlayerName(),
+                        result.getPlayerScore(),
+                        result.getComputerScore(),
+                        result.getRounds()
+                ));
+                readable.add(message);
+                received.add(result);
+            } catch (MessageConversionException e) {
+                gameResultRetries.reject(message, e);
+            }
+        }
+
+        try {
+            gameResultService.saveGameResults(results);
+            received.forEach(gameResultMetrics::recordConsumed);
+        } catch (RuntimeException batchFailure) {
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    gameResultService.saveGameResults(List.of(results.get(i)));
+                    gameResultMetrics.recordConsumed(received.get(i));
+                } catch (RuntimeException e) {
+                    gameResultRetries.retryOrDeadLetter(readable.get(i), e);
+                }
+            }
+        }
+    }
+}
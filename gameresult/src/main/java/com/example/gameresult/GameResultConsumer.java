@@ -1,31 +1,50 @@
 package com.example.gameresult;
 
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+/**
+ * One result per message, used when game.results.consumer.mode=single
+ */
 @Component
+@ConditionalOnProperty(name = "game.results.consumer.mode", havingValue = "single")
 public class GameResultConsumer {
 
     private final GameResultService gameResultService;
+    private final GameResultRetries gameResultRetries;
+    private final GameResultMetrics gameResultMetrics;
 
-    public GameResultConsumer(GameResultService gameResultService) {
+    public GameResultConsumer(GameResultService gameResultService, GameResultRetries gameResultRetries,
+                              GameResultMetrics gameResultMetrics) {
         this.gameResultService = gameResultService;
+        this.gameResultRetries = gameResultRetries;
+        this.gameResultMetrics = gameResultMetrics;
     }
 
     @RabbitListener(queues = "game-result-queue")
-    public void receiveGameResult(GameResultMessage message) {
-        System.out.println("Received game result: " + message.getPlayerName());
-        System.out.println("Player score: " + message.getPlayerScore());
-        System.out.println("Computer score: " + message.getComputerScore());
-        System.out.println("Rounds: " + message.getRounds());
+    public void receiveGameResult(Message raw) {
+        GameResultMessage message;
+        try {
+            message = gameResultRetries.read(raw);
+        } catch (MessageConversionException e) {
+            gameResultRetries.reject(raw, e);
+            return;
+        }
 
-        GameResult saved = gameResultService.saveGameResult(
-                message.getPlayerName(),
-                message.getPlayerScore(),
-                message.getComputerScore(),
-                message.getRounds()
-        );
-
-        System.out.println("Saved result with ID: " + saved.getId());
+        try {
+            gameResultService.saveGameResult(
+                    message.getGameId(),
+                    message.getPlayerName(),
+                    message.getPlayerScore(),
+                    message.getComputerScore(),
+                    message.getRounds()
+            );
+            gameResultMetrics.recordConsumed(message);
+        } catch (RuntimeException e) {
+            gameResultRetries.retryOrDeadLetter(raw, e);
+        }
     }
 }
\ No newline at end of file
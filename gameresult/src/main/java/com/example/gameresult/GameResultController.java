@@ -1,24 +1,47 @@
 package com.example.gameresult;
 
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/results")
 public class GameResultController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_STATS_BUCKETS = 1000;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final GameResultService gameResultService;
+    private final PlayerStatsService playerStatsService;
+    private final ResultRollupService resultRollupService;
+    private final RecentResults recentResults;
+    private final BatchResultIngest batchResultIngest;
+    private final ResultSearch resultSearch;
 
-    public GameResultController(GameResultService gameResultService) {
+    public GameResultController(GameResultService gameResultService, PlayerStatsService playerStatsService,
+                                ResultRollupService resultRollupService, RecentResults recentResults,
+                                BatchResultIngest batchResultIngest, ResultSearch resultSearch) {
         this.gameResultService = gameResultService;
+        this.playerStatsService = playerStatsService;
+        this.resultRollupService = resultRollupService;
+        this.recentResults = recentResults;
+        this.batchResultIngest = batchResultIngest;
+        this.resultSearch = resultSearch;
     }
 
     @PostMapping
     public ResponseEntity<GameResult> saveResult(@RequestBody SaveResultRequest request) {
         GameResult result = gameResultService.saveGameResult(
+                request.getGameId(),
                 request.getPlayerName(),
                 request.getPlayerScore(),
                 request.getComputerScore(),
@@ -27,8 +50,136 @@ public class GameResultController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Save many results at once, as a JSON array or newline-delimited JSON.
+     * Returns how many were stored, already stored and rejected per chunk.
+     * POST /api/results/batch
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<BatchIngestResponse> saveResults(InputStream body) {
+        BatchIngestResponse response = batchResultIngest.ingest(body);
+        if (response.getError() != null) {
+            return ResponseEntity.badRequest().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
     public ResponseEntity<List<GameResult>> getAllResults() {
         return ResponseEntity.ok(gameResultService.getAllResults());
     }
-}
\ No newline at end of file
+
+    /**
+     * The latest results from memory, newest first
+     * GET /api/results?recent=20
+     */
+    @GetMapping(params = "recent")
+    public ResponseEntity<byte[]> getRecentResults(@RequestParam int recent) {
+        if (recent < 1 || recent > recentResults.capacity()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(recentResults.latestJson(recent));
+    }
+
+    /**
+     * One page of results, newest first. Pass the returned nextCursor to get the next page.
+     * GET /api/results?limit=50&cursor=...
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<ResultPage> getResultPage(@RequestParam int limit,
+                                                    @RequestParam(required = false) String cursor) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(gameResultService.getResultPage(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Results matching all given filters, newest first, with the total number of matches
+     * GET /api/results/search?player=alice&winner=PLAYER&from=2024-01-01T00:00&to=2024-02-01T00:00&limit=50
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ResultSearchPage> search(
+            @RequestParam(required = false) String player,
+            @RequestParam(required = false) String winner,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer minScore,
+            @RequestParam(required = false) Integer maxScore,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor) {
+        if (winner != null && !List.of("PLAYER", "COMPUTER", "TIE").contains(winner)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(resultSearch.search(
+                    new ResultFilter(player, winner, from, to, minScore, maxScore), cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * All results as newline-delimited JSON, streamed as they are read
+     * GET /api/results/export
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportResults() {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(gameResultService::exportResults);
+    }
+
+    /**
+     * Stats for one player
+     * GET /api/results/players/{name}
+     */
+    @GetMapping("/players/{name}")
+    public ResponseEntity<PlayerStats> getPlayerStats(@PathVariable String name) {
+        return playerStatsService.getPlayerStats(name)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Recompute all player stats from stored results. Locks player_stats for the whole
+     * recount, so it is an operator endpoint the gateway refuses
+     * POST /api/results/admin/players/rebuild
+     */
+    @PostMapping("/admin/players/rebuild")
+    public ResponseEntity<Integer> rebuildPlayerStats() {
+        return ResponseEntity.ok(playerStatsService.rebuild());
+    }
+
+    /**
+     * Hourly or daily totals for buckets starting in [from, to)
+     * GET /api/results/stats?granularity=hour&from=2024-01-01T00:00&to=2024-01-02T00:00
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<ResultRollup>> getStats(
+            @RequestParam String granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        long buckets;
+        if (ResultRollupService.HOUR.equals(granularity)) {
+            buckets = Duration.between(from, to).toHours();
+        } else if (ResultRollupService.DAY.equals(granularity)) {
+            buckets = Duration.between(from, to).toDays();
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!from.isBefore(to) || buckets > MAX_STATS_BUCKETS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(resultRollupService.getRollups(granularity, from, to));
+    }
+}
@@ -3,6 +3,8 @@ package com.example.gameresult;
 import java.io.Serializable;
 
 public class GameResultMessage implements Serializable {
+    private Long gameId; // null for results sent before game IDs were included
+    private Long publishedAt; // epoch millis when game_logic sent it, null if unknown
     private String playerName;
     private int playerScore;
     private int computerScore;
@@ -10,7 +12,23 @@ public class GameResultMessage implements Serializable {
 
     public GameResultMessage() {}
 
+    public GameResultMessage(String playerName, int playerScore, int computerScore, int rounds) {
+        this.playerName = playerName;
+        this.playerScore = playerScore;
+        this.computerScore = computerScore;
+        this.rounds = rounds;
+    }
+
+    public GameResultMessage(Long gameId, String playerName, int playerScore, int computerScore, int rounds) {
+        this(playerName, playerScore, computerScore, rounds);
+        this.gameId = gameId;
+    }
+
     // Getters and setters
+    public Long getGameId() { return gameId; }
+    public void setGameId(Long gameId) { this.gameId = gameId; }
+    public Long getPublishedAt() { return publishedAt; }
+    public void setPublishedAt(Long publishedAt) { this.publishedAt = publishedAt; }
     public String getPlayerName() { return playerName; }
     public void setPlayerName(String playerName) { this.playerName = playerName; }
     public int getPlayerScore() { return playerScore; }
@@ -0,0 +1,87 @@
+package com.example.gameresult;
+
+import com.example.gameresult.config.RabbitMQConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consumer side of the result pipeline: consume rate, time from publish in game_logic to the
+ * result being committed here, and the backlog of every result queue. Queue depths are
+ * refreshed on a schedule so scraping the gauges never calls the broker.
+ */
+@Component
+public class GameResultMetrics {
+
+    private final AmqpAdmin amqpAdmin;
+    private final Counter consumed;
+    private final Timer endToEndLatency;
+    private final Map<String, AtomicLong> queueBacklog = new LinkedHashMap<>();
+
+    public GameResultMetrics(AmqpAdmin amqpAdmin,
+                             MeterRegistry meterRegistry,
+                             @Value("${game.results.shards:0}") int shards,
+                             @Value("${game.results.retry.delays-ms:1000,10000,60000}") long[] retryDelays) {
+        this.amqpAdmin = amqpAdmin;
+        this.consumed = Counter.builder("game.results.consumed").register(meterRegistry);
+        this.endToEndLatency = Timer.builder("game.results.end-to-end.latency")
+                .description("Time from publish in game_logic until the result is stored")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(10))
+                .register(meterRegistry);
+
+        List<String> queues = new ArrayList<>();
+        queues.add(RabbitMQConfig.GAME_RESULT_QUEUE);
+        for (int shard = 0; shard < shards; shard++) {
+            queues.add(RabbitMQConfig.shardQueue(shard));
+        }
+        for (int tier = 0; tier < retryDelays.length; tier++) {
+            queues.add(RabbitMQConfig.retryExchange(tier));
+        }
+        queues.add(RabbitMQConfig.GAME_RESULT_DLQ);
+        for (String queue : queues) {
+            AtomicLong backlog = new AtomicLong();
+            queueBacklog.put(queue, backlog);
+            Gauge.builder("game.results.queue.backlog", backlog, AtomicLong::get).tag("queue", queue).register(meterRegistry);
+        }
+    }
+
+    /**
+     * Count a result that has been handled, call once it is committed
+     */
+    public void recordConsumed(GameResultMessage message) {
+        consumed.increment();
+        if (message.getPublishedAt() != null) {
+            long latency = System.currentTimeMillis() - message.getPublishedAt();
+            endToEndLatency.record(Math.max(0, latency), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${game.results.metrics.refresh-ms:15000}")
+    public void refreshBacklog() {
+        try {
+            for (Map.Entry<String, AtomicLong> entry : queueBacklog.entrySet()) {
+                QueueInformation info = amqpAdmin.getQueueInfo(entry.getKey());
+                entry.getValue().set(info == null ? 0 : info.getMessageCount());
+            }
+        } catch (RuntimeException e) {
+            // Broker unavailable, keep the last known values
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.example.gameresult;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps game_result partitioned by month of game_date (Postgres range partitions named
+ * game_result_pYYYYMM), so recent reads only touch recent partitions and each partition's
+ * indexes stay small. Partitions older than the retention window are written to gzipped
+ * NDJSON files in the archive directory and dropped; they can be read or restored from there.
+ *
+ * A game_result table created by Hibernate as a plain table is converted on startup.
+ * Partitioned tables can't have a unique game_id, so game_result_key holds the stored
+ * game IDs instead. Archived games keep their key so they are still not stored twice.
+ */
+@Component
+public class GameResultPartitions {
+
+    private static final String PARTITION_PREFIX = "game_result_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String ARCHIVE_SUFFIX = ".ndjson.gz";
+    private static final int RESTORE_BATCH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final GameResultService gameResultService;
+    private final ObjectMapper objectMapper;
+    private final Path archiveDir;
+    private final int retentionMonths;
+    private final int monthsAhead;
+    private final Set<YearMonth> knownPartitions = ConcurrentHashMap.newKeySet();
+
+    public GameResultPartitions(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                GameResultService gameResultService,
+                                ObjectMapper objectMapper,
+                                @Value("${game.results.archive.dir:archive}") String archiveDir,
+                                @Value("${game.results.archive.retention-months:12}") int retentionMonths,
+                                @Value("${game.results.partitions.months-ahead:2}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.gameResultService = gameResultService;
+        this.objectMapper = objectMapper;
+        this.archiveDir = Paths.get(archiveDir);
+        this.retentionMonths = retentionMonths;
+        this.monthsAhead = monthsAhead;
+    }
+
+    /**
+     * Runs before the result listeners start, after Hibernate has created or updated game_result
+     */
+    @PostConstruct
+    public void init() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("create table if not exists game_result_key (game_id bigint primary key)");
+            String kind = jdbcTemplate.queryForObject(
+                    "select relkind::text from pg_class where oid = to_regclass('game_result')", String.class);
+            if ("r".equals(kind)) {
+                convertToPartitioned();
+            }
+            jdbcTemplate.execute("create index if not exists idx_game_result_date_id on game_result (game_date, id)");
+            jdbcTemplate.execute("create index if not exists idx_game_result_game_id on game_result (game_id)");
+            ResultSearch.INDEXES.forEach(jdbcTemplate::execute);
+        });
+        createPartitions(YearMonth.now(), YearMonth.now().plusMonths(monthsAhead));
+    }
+
+    /**
+     * Daily: make sure the coming months have partitions and archive the ones past retention
+     */
+    @Scheduled(cron = "${game.results.partitions.cron:0 15 3 * * *}")
+    public void maintain() {
+        createPartitions(YearMonth.now(), YearMonth.now().plusMonths(monthsAhead));
+        if (retentionMonths <= 0) {
+            return;
+        }
+        for (YearMonth month : partitions()) {
+            if (pastRetention(month)) {
+                try {
+                    archive(month);
+                } catch (RuntimeException e) {
+                    System.err.println("Failed to archive game results for " + month + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Create the partition for a month if it does not exist yet, for results backfilled
+     * into the past
+     *
+     * @throws IllegalArgumentException if the month has been archived or is due to be
+     */
+    public void ensurePartition(YearMonth month) {
+        if (pastRetention(month)) {
+            throw new IllegalArgumentException("Game results for " + month + " are past retention");
+        }
+        if (knownPartitions.contains(month)) {
+            return;
+        }
+        if (Files.exists(archiveFile(month))) {
+            throw new IllegalArgumentException("Game results for " + month + " are archived");
+        }
+        createPartitions(month, month);
+        knownPartitions.add(month);
+    }
+
+    /**
+     * Months that are stored in game_result, oldest first
+     */
+    public List<YearMonth> partitions() {
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : jdbcTemplate.queryForList(
+                "select c.relname::text from pg_inherits i join pg_class c on c.oid = i.inhrelid "
+                        + "where i.inhparent = 'game_result'::regclass order by c.relname", String.class)) {
+            if (name.startsWith(PARTITION_PREFIX)) {
+                months.add(YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Months that have been archived, oldest first
+     */
+    public List<YearMonth> archives() {
+        if (!Files.isDirectory(archiveDir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(PARTITION_PREFIX) && name.endsWith(ARCHIVE_SUFFIX))
+                    .map(name -> YearMonth.parse(
+                            name.substring(PARTITION_PREFIX.length(), name.length() - ARCHIVE_SUFFIX.length()), PARTITION_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Detach a month's partition, write its results to the archive file, then drop it.
+     * Detaching first means a backfill still in flight can no longer add rows that the file
+     * would miss; its insert fails instead. If writing fails the partition is attached again.
+     */
+    public void archive(YearMonth month) {
+        String table = partitionName(month);
+        Path file = archiveFile(month);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        knownPartitions.remove(month);
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.execute("alter table game_result detach partition " + table));
+        try {
+            Files.createDirectories(archiveDir);
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                transactionTemplate.executeWithoutResult(status -> gameResultService.writeResults(table, out));
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            reattach(month);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            reattach(month);
+            throw e;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute("drop table " + table));
+        System.out.println("Archived game results for " + month + " to " + file);
+    }
+
+    /**
+     * Write an archived month's results as NDJSON without restoring them
+     *
+     * @throws IllegalArgumentException if the month has no archive
+     */
+    public void readArchive(YearMonth month, OutputStream out) {
+        try (InputStream in = openArchive(month)) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Put an archived month back into game_result and delete its archive file
+     *
+     * @return the number of results restored
+     * @throws IllegalArgumentException if the month has no archive
+     */
+    public int restore(YearMonth month) {
+        String table = partitionName(month);
+        int restored;
+        try (InputStream in = openArchive(month)) {
+            restored = transactionTemplate.execute(status -> {
+                jdbcTemplate.execute("create table " + table + " partition of game_result" + bounds(month));
+                return insertArchived(in);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            Files.delete(archiveFile(month));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.println("Restored " + restored + " game results for " + month);
+        return restored;
+    }
+
+    private int insertArchived(InputStream in) {
+        String sql = "insert into game_result (id, game_id, player_name, player_score, computer_score, winner, game_date, rounds) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?)";
+        int restored = 0;
+        List<Object[]> batch = new ArrayList<>(RESTORE_BATCH);
+        try (MappingIterator<GameResult> results = objectMapper.readerFor(GameResult.class).readValues(in)) {
+            while (results.hasNext()) {
+                GameResult result = results.next();
+                batch.add(new Object[]{result.getId(), result.getGameId(), result.getPlayerName(), result.getPlayerScore(),
+                        result.getComputerScore(), result.getWinner(), Timestamp.valueOf(result.getGameDate()), result.getRounds()});
+                if (batch.size() == RESTORE_BATCH) {
+                    jdbcTemplate.batchUpdate(sql, batch);
+                    restored += batch.size();
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            restored += batch.size();
+        }
+        return restored;
+    }
+
+    private void convertToPartitioned() {
+        jdbcTemplate.execute("lock table game_result in access exclusive mode");
+        jdbcTemplate.execute("alter table game_result rename to game_result_unpartitioned");
+        jdbcTemplate.execute("create table game_result (like game_result_unpartitioned including defaults including identity) "
+                + "partition by range (game_date)");
+
+        Timestamp oldest = jdbcTemplate.queryForObject("select min(game_date) from game_result_unpartitioned", Timestamp.class);
+        Timestamp newest = jdbcTemplate.queryForObject("select max(game_date) from game_result_unpartitioned", Timestamp.class);
+        YearMonth from = oldest == null ? YearMonth.now() : YearMonth.from(oldest.toLocalDateTime());
+        YearMonth to = newest == null ? YearMonth.now() : YearMonth.from(newest.toLocalDateTime());
+        createPartitions(from, to.isAfter(YearMonth.now()) ? to : YearMonth.now());
+
+        int moved = jdbcTemplate.update("insert into game_result select * from game_result_unpartitioned");
+        jdbcTemplate.update("insert into game_result_key (game_id) select game_id from game_result_unpartitioned "
+                + "where game_id is not null on conflict do nothing");
+        jdbcTemplate.execute("drop table game_result_unpartitioned");
+        jdbcTemplate.execute("alter table game_result add primary key (id, game_date)");
+        jdbcTemplate.execute("select setval(pg_get_serial_sequence('game_result', 'id'), "
+                + "coalesce((select max(id) from game_result), 0) + 1, false)");
+        System.out.println("Converted game_result to monthly partitions, moved " + moved + " results");
+    }
+
+    private void createPartitions(YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("create table if not exists " + partitionName(month) + " partition of game_result" + bounds(month));
+        }
+    }
+
+    private void reattach(YearMonth month) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute(
+                "alter table game_result attach partition " + partitionName(month) + bounds(month)));
+    }
+
+    private boolean pastRetention(YearMonth month) {
+        return retentionMonths > 0 && month.isBefore(YearMonth.now().minusMonths(retentionMonths));
+    }
+
+    private static String bounds(YearMonth month) {
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.plusMonths(1).atDay(1);
+        return " for values from ('" + start + "') to ('" + end + "')";
+    }
+
+    private InputStream openArchive(YearMonth month) throws IOException {
+        Path file = archiveFile(month);
+        if (!Files.exists(file)) {
+            throw new IllegalArgumentException("No archived game results for " + month);
+        }
+        return new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file)));
+    }
+
+    private Path archiveFile(YearMonth month) {
+        return archiveDir.resolve(partitionName(month) + ARCHIVE_SUFFIX);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
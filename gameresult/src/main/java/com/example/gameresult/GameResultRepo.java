@@ -1,10 +1,32 @@
 package com.example.gameresult;
 
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface GameResultRepo extends JpaRepository<GameResult, Long> {
     List<GameResult> findAllByOrderByGameDateDesc();
+
+    Optional<GameResult> findByGameId(Long gameId);
+
+    /**
+     * First page of results, newest first
+     */
+    List<GameResult> findAllByOrderByGameDateDescIdDesc(Limit limit);
+
+    /**
+     * Results after the given (gameDate, id) position, newest first. The row comparison
+     * lets Postgres start straight at the position in idx_game_result_date_id, the plain
+     * game_date bound lets it skip newer partitions.
+     */
+    @Query(value = "select * from game_result where game_date <= :gameDate and (game_date, id) < (:gameDate, :id) "
+            + "order by game_date desc, id desc limit :limit", nativeQuery = true)
+    List<GameResult> findPageBefore(@Param("gameDate") LocalDateTime gameDate, @Param("id") long id,
+                                    @Param("limit") int limit);
 }
\ No newline at end of file
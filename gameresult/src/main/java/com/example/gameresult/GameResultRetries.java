@@ -0,0 +1,103 @@
+package com.example.gameresult;
+
+import com.example.gameresult.config.RabbitMQConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends results that could not be saved to the next delayed retry tier, and to the
+ * dead-letter queue once every tier has been tried or when the payload can't be read.
+ * Retried results may be saved after newer results of the same player.
+ */
+@Component
+public class GameResultRetries {
+
+    public static final String RETRY_COUNT_HEADER = "x-retry-count";
+    public static final String ORIGINAL_QUEUE_HEADER = "x-original-queue";
+    public static final String ERROR_HEADER = "x-last-error";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final MessageConverter messageConverter;
+    private final int tiers;
+
+    private final List<Counter> retried = new ArrayList<>();
+    private final Counter exhausted;
+    private final Counter unreadable;
+
+    public GameResultRetries(RabbitTemplate rabbitTemplate,
+                             MessageConverter messageConverter,
+                             MeterRegistry meterRegistry,
+                             @Value("${game.results.retry.delays-ms:1000,10000,60000}") long[] delays) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.messageConverter = messageConverter;
+        this.tiers = delays.length;
+        for (int tier = 0; tier < tiers; tier++) {
+            retried.add(Counter.builder("game.results.ingest.retried").tag("tier", String.valueOf(tier)).register(meterRegistry));
+        }
+        this.exhausted = Counter.builder("game.results.ingest.dead-lettered").tag("reason", "retries-exhausted").register(meterRegistry);
+        this.unreadable = Counter.builder("game.results.ingest.dead-lettered").tag("reason", "unreadable").register(meterRegistry);
+    }
+
+    /**
+     * Convert a raw result message, whichever wire format it was sent in
+     *
+     * @throws MessageConversionException if the payload is not a readable game result
+     */
+    public GameResultMessage read(Message message) {
+        message.getMessageProperties().setInferredArgumentType(GameResultMessage.class);
+        Object payload = messageConverter.fromMessage(message);
+        if (!(payload instanceof GameResultMessage result)) {
+            throw new MessageConversionException("Not a game result: " + payload);
+        }
+        return result;
+    }
+
+    /**
+     * Schedule another attempt after the next tier's delay, or dead-letter the message
+     * once all tiers have been used
+     */
+    public void retryOrDeadLetter(Message message, Exception cause) {
+        MessageProperties properties = message.getMessageProperties();
+        Integer header = properties.getHeader(RETRY_COUNT_HEADER);
+        int attempts = header == null ? 0 : header;
+        if (attempts >= tiers) {
+            exhausted.increment();
+            deadLetter(message, cause);
+            return;
+        }
+        properties.setHeader(RETRY_COUNT_HEADER, attempts + 1);
+        properties.setHeader(ERROR_HEADER, String.valueOf(cause.getMessage()));
+        rabbitTemplate.send(RabbitMQConfig.retryExchange(attempts), originalQueue(properties), message);
+        retried.get(attempts).increment();
+    }
+
+    /**
+     * Dead-letter a message that can never be processed, such as an unreadable payload
+     */
+    public void reject(Message message, Exception cause) {
+        unreadable.increment();
+        deadLetter(message, cause);
+    }
+
+    private void deadLetter(Message message, Exception cause) {
+        MessageProperties properties = message.getMessageProperties();
+        properties.setHeader(ORIGINAL_QUEUE_HEADER, originalQueue(properties));
+        properties.setHeader(ERROR_HEADER, String.valueOf(cause.getMessage()));
+        rabbitTemplate.send("", RabbitMQConfig.GAME_RESULT_DLQ, message);
+    }
+
+    private String originalQueue(MessageProperties properties) {
+        String queue = properties.getConsumerQueue();
+        return queue != null ? queue : RabbitMQConfig.GAME_RESULT_QUEUE;
+    }
+}
@@ -1,27 +1,281 @@
 package com.example.gameresult;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
 
 @Service
 public class GameResultService {
 
+    /** Rows per insert statement, keeps the bind parameter count well below the driver limit */
+    private static final int INSERT_CHUNK = 1000;
+
+    /** Rows the driver fetches per round trip while exporting */
+    private static final int EXPORT_FETCH_SIZE = 500;
+
     private final GameResultRepo gameResultRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final RecentGameIds recentGameIds;
+    private final PlayerStatsService playerStatsService;
+    private final ResultRollupService resultRollupService;
+    private final ScoreDistributions scoreDistributions;
+    private final RecentResults recentResults;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter memoryDuplicates;
+    private final Counter databaseDuplicates;
 
-    public GameResultService(GameResultRepo gameResultRepo) {
+    public GameResultService(GameResultRepo gameResultRepo, JdbcTemplate jdbcTemplate, RecentGameIds recentGameIds,
+                             PlayerStatsService playerStatsService, ResultRollupService resultRollupService,
+                             ScoreDistributions scoreDistributions, RecentResults recentResults,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
         this.gameResultRepo = gameResultRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.recentGameIds = recentGameIds;
+        this.playerStatsService = playerStatsService;
+        this.resultRollupService = resultRollupService;
+        this.scoreDistributions = scoreDistributions;
+        this.recentResults = recentResults;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.memoryDuplicates = Counter.builder("game.results.ingest.duplicates").tag("caught-by", "memory").register(meterRegistry);
+        this.databaseDuplicates = Counter.builder("game.results.ingest.duplicates").tag("caught-by", "database").register(meterRegistry);
     }
 
+    @Transactional
     public GameResult saveGameResult(String playerName, int playerScore, int computerScore, int rounds) {
+        GameResult saved = gameResultRepo.save(newGameResult(playerName, playerScore, computerScore, rounds));
+        playerStatsService.recordResults(List.of(saved));
+        resultRollupService.recordResults(List.of(saved));
+        afterCommit(() -> {
+            scoreDistributions.record(List.of(saved));
+            recentResults.append(saved);
+        });
+        return saved;
+    }
+
+    /**
+     * Save one result. A result for a game that is already stored is not saved again,
+     * the stored one is returned instead.
+     */
+    @Transactional
+    public GameResult saveGameResult(Long gameId, String playerName, int playerScore, int computerScore, int rounds) {
+        if (gameId == null) {
+            return saveGameResult(playerName, playerScore, computerScore, rounds);
+        }
+        List<GameResult> inserted = saveGameResults(List.of(newGameResult(gameId, playerName, playerScore, computerScore, rounds)));
+        if (!inserted.isEmpty()) {
+            return inserted.get(0);
+        }
+        return gameResultRepo.findByGameId(gameId)
+                .orElseThrow(() -> new IllegalStateException("Result for game " + gameId + " was neither inserted nor found"));
+    }
+
+    /**
+     * Save many results with one multi-row insert. Results whose game is already stored
+     * are skipped: recently seen game IDs are filtered out in memory, the rest by
+     * game_result_key. Player stats and rollups are updated in the same transaction.
+     *
+     * @return the results that were actually inserted, with their IDs set
+     */
+    @Transactional
+    public List<GameResult> saveGameResults(List<GameResult> results) {
+        Set<Long> batchGameIds = new HashSet<>();
+        List<GameResult> inserted = insertNew(results, batchGameIds);
+        playerStatsService.recordResults(inserted);
+        resultRollupService.recordResults(inserted);
+
+        // Only remember IDs once they are committed, a rolled back insert must not hide a retry
+        afterCommit(() -> {
+            recentGameIds.addAll(batchGameIds);
+            scoreDistributions.record(inserted);
+            inserted.forEach(recentResults::append);
+        });
+        return inserted;
+    }
+
+    /**
+     * Save uploaded results, which may be older than games already stored. Like
+     * saveGameResults, except that the players' streaks are recomputed from game_result
+     * instead of extended, and only results newer than the latest recent one are added to
+     * the recent results.
+     *
+     * @return the results that were actually inserted, with their IDs set
+     */
+    @Transactional
+    public List<GameResult> importGameResults(List<GameResult> results) {
+        Set<Long> batchGameIds = new HashSet<>();
+        List<GameResult> inserted = insertNew(results, batchGameIds);
+        playerStatsService.recordImportedResults(inserted);
+        resultRollupService.recordResults(inserted);
+
+        afterCommit(() -> {
+            recentGameIds.addAll(batchGameIds);
+            scoreDistributions.record(inserted);
+            inserted.forEach(recentResults::appendIfNewest);
+        });
+        return inserted;
+    }
+
+    /**
+     * Insert the results whose game is not stored yet, adding their game IDs to batchGameIds
+     */
+    private List<GameResult> insertNew(List<GameResult> results, Set<Long> batchGameIds) {
+        List<GameResult> fresh = new ArrayList<>(results.size());
+        for (GameResult result : results) {
+            Long gameId = result.getGameId();
+            if (gameId != null && (recentGameIds.contains(gameId) || !batchGameIds.add(gameId))) {
+                memoryDuplicates.increment();
+                continue;
+            }
+            fresh.add(result);
+        }
+
+        List<GameResult> inserted = new ArrayList<>(fresh.size());
+        for (int from = 0; from < fresh.size(); from += INSERT_CHUNK) {
+            inserted.addAll(insertIgnoringDuplicates(fresh.subList(from, Math.min(from + INSERT_CHUNK, fresh.size()))));
+        }
+        databaseDuplicates.increment(fresh.size() - inserted.size());
+        return inserted;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private List<GameResult> insertIgnoringDuplicates(List<GameResult> candidates) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        // game_result is partitioned by date and can't have a unique game_id, so each game
+        // first claims its ID in game_result_key. A concurrent claim of the same ID waits
+        // for the other transaction and is then skipped, like a unique constraint would be.
+        Set<Long> claimed = claimGameIds(candidates);
+        List<GameResult> results = new ArrayList<>(candidates.size());
+        for (GameResult result : candidates) {
+            if (result.getGameId() == null || claimed.contains(result.getGameId())) {
+                results.add(result);
+            }
+        }
+        if (results.isEmpty()) {
+            return List.of();
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "insert into game_result (game_id, player_name, player_score, computer_score, winner, game_date, rounds) values ");
+        for (int i = 0; i < results.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?)");
+        }
+        sql.append(" returning id, game_id");
+
+        // Rows come back in insert order, game_id tells which ones were skipped
+        List<long[]> returned = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString());
+            int index = 1;
+            for (GameResult result : results) {
+                if (result.getGameId() == null) {
+                    statement.setNull(index++, Types.BIGINT);
+                } else {
+                    statement.setLong(index++, result.getGameId());
+                }
+                statement.setString(index++, result.getPlayerName());
+                statement.setInt(index++, result.getPlayerScore());
+                statement.setInt(index++, result.getComputerScore());
+                statement.setString(index++, result.getWinner());
+                statement.setTimestamp(index++, Timestamp.valueOf(result.getGameDate()));
+                statement.setInt(index++, result.getRounds());
+            }
+            return statement;
+        }, (row, rowNum) -> {
+            Long gameId = row.getObject(2, Long.class);
+            return new long[]{row.getLong(1), gameId == null ? -1 : gameId};
+        });
+
+        List<GameResult> inserted = new ArrayList<>(returned.size());
+        int next = 0;
+        for (GameResult result : results) {
+            if (next >= returned.size()) {
+                break;
+            }
+            long[] row = returned.get(next);
+            long gameId = result.getGameId() == null ? -1 : result.getGameId();
+            if (row[1] == gameId) {
+                result.setId(row[0]);
+                inserted.add(result);
+                next++;
+            }
+        }
+        return inserted;
+    }
+
+    private Set<Long> claimGameIds(List<GameResult> results) {
+        List<Long> gameIds = new ArrayList<>(results.size());
+        for (GameResult result : results) {
+            if (result.getGameId() != null) {
+                gameIds.add(result.getGameId());
+            }
+        }
+        if (gameIds.isEmpty()) {
+            return Set.of();
+        }
+        StringBuilder sql = new StringBuilder("insert into game_result_key (game_id) values ");
+        for (int i = 0; i < gameIds.size(); i++) {
+            sql.append(i == 0 ? "(?)" : ", (?)");
+        }
+        sql.append(" on conflict (game_id) do nothing returning game_id");
+        return new HashSet<>(jdbcTemplate.queryForList(sql.toString(), Long.class, gameIds.toArray()));
+    }
+
+    public GameResult newGameResult(String playerName, int playerScore, int computerScore, int rounds) {
+        return newGameResult(null, playerName, playerScore, computerScore, rounds);
+    }
+
+    /**
+     * New unsaved result with the game date and winner filled in
+     */
+    public GameResult newGameResult(Long gameId, String playerName, int playerScore, int computerScore, int rounds) {
+        return newGameResult(gameId, playerName, playerScore, computerScore, rounds, LocalDateTime.now());
+    }
+
+    public GameResult newGameResult(Long gameId, String playerName, int playerScore, int computerScore, int rounds,
+                                    LocalDateTime gameDate) {
         GameResult result = new GameResult();
+        result.setGameId(gameId);
         result.setPlayerName(playerName);
         result.setPlayerScore(playerScore);
         result.setComputerScore(computerScore);
         result.setRounds(rounds);
-        result.setGameDate(LocalDateTime.now());
+        result.setGameDate(gameDate);
 
         // Determine winner
         if (playerScore < computerScore) {
@@ -32,10 +286,81 @@ public class GameResultService {
             result.setWinner("TIE");
         }
 
-        return gameResultRepo.save(result);
+        return result;
     }
 
     public List<GameResult> getAllResults() {
         return gameResultRepo.findAllByOrderByGameDateDesc();
     }
+
+    /**
+     * One page of results, newest first, starting after the position in cursor (null for
+     * the first page). Pages are found by (game_date, id) instead of an offset, so deep
+     * pages cost the same as the first and new results don't shift pages already read.
+     *
+     * @throws IllegalArgumentException if the cursor is not one this method returned
+     */
+    @Transactional(readOnly = true)
+    public ResultPage getResultPage(String cursor, int limit) {
+        List<GameResult> results;
+        if (cursor == null || cursor.isEmpty()) {
+            results = gameResultRepo.findAllByOrderByGameDateDescIdDesc(Limit.of(limit + 1));
+        } else {
+            ResultCursor position = ResultCursor.decode(cursor);
+            results = gameResultRepo.findPageBefore(position.gameDate(), position.id(), limit + 1);
+        }
+
+        String nextCursor = null;
+        if (results.size() > limit) {
+            results = new ArrayList<>(results.subList(0, limit));
+            nextCursor = ResultCursor.after(results.get(limit - 1)).encode();
+        }
+        return new ResultPage(results, nextCursor);
+    }
+
+    /**
+     * Write every result as newline-delimited JSON, newest first. Rows are read with a
+     * forward-only cursor and written as they arrive, so memory use does not depend on how
+     * many results there are.
+     */
+    public void exportResults(OutputStream out) {
+        // Postgres only streams with a fetch size inside a transaction, otherwise it reads everything
+        readOnlyTransaction.executeWithoutResult(status -> writeResults("game_result", out));
+    }
+
+    /**
+     * Write the rows of a result table (game_result or one of its partitions) as
+     * newline-delimited JSON, newest first. Must run in a transaction to stream.
+     */
+    void writeResults(String table, OutputStream out) {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(null);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(
+                        "select id, game_id, player_name, player_score, computer_score, winner, game_date, rounds "
+                                + "from " + table + " order by game_date desc, id desc");
+                ps.setFetchSize(EXPORT_FETCH_SIZE);
+                return ps;
+            }, rs -> {
+                GameResult result = new GameResult();
+                result.setId(rs.getLong("id"));
+                result.setGameId(rs.getObject("game_id", Long.class));
+                result.setPlayerName(rs.getString("player_name"));
+                result.setPlayerScore(rs.getInt("player_score"));
+                result.setComputerScore(rs.getInt("computer_score"));
+                result.setWinner(rs.getString("winner"));
+                result.setGameDate(rs.getTimestamp("game_date").toLocalDateTime());
+                result.setRounds(rs.getInt("rounds"));
+                try {
+                    objectMapper.writeValue(generator, result);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
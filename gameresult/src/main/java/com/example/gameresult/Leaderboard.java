@@ -0,0 +1,181 @@
+package com.example.gameresult;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Live leaderboards held in memory, one sorted map per metric plus an index of each player's
+ * current standing. Loaded from player_stats at startup and refreshed from it after every
+ * commit that changes a player's stats, so it never has to merge deltas itself.
+ * Each sorted map has a RankIndex beside it, so a rank costs O(log n) wherever the player is.
+ */
+@Component
+public class Leaderboard {
+
+    public enum Metric {
+        BEST_SCORE, // lowest best score first
+        WIN_RATE,   // highest win rate first, only players with enough games
+        WINS        // most wins first
+    }
+
+    /** Sort key, better standings sort first and ties go by name */
+    private record RankKey(double value, String playerName) implements Comparable<RankKey> {
+        @Override
+        public int compareTo(RankKey other) {
+            int byValue = Double.compare(value, other.value);
+            return byValue != 0 ? byValue : playerName.compareTo(other.playerName);
+        }
+    }
+
+    private record Standing(String playerName, int games, int wins, int bestScore) {
+        double winRate() {
+            return games == 0 ? 0.0 : (double) wins / games;
+        }
+    }
+
+    private final PlayerStatsRepo playerStatsRepo;
+    private final int minGamesForWinRate;
+    private final Map<String, Standing> standings = new ConcurrentHashMap<>();
+    private final Map<Metric, ConcurrentSkipListMap<RankKey, Standing>> rankings = new EnumMap<>(Metric.class);
+    private final Map<Metric, RankIndex<RankKey>> rankIndexes = new EnumMap<>(Metric.class);
+
+    public Leaderboard(PlayerStatsRepo playerStatsRepo,
+                       @Value("${game.results.leaderboard.min-games-for-win-rate:5}") int minGamesForWinRate) {
+        this.playerStatsRepo = playerStatsRepo;
+        this.minGamesForWinRate = minGamesForWinRate;
+        for (Metric metric : Metric.values()) {
+            rankings.put(metric, new ConcurrentSkipListMap<>());
+            rankIndexes.put(metric, new RankIndex<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Set<String> loaded = new HashSet<>();
+        for (PlayerStats stats : playerStatsRepo.findAll()) {
+            update(stats, true);
+            loaded.add(stats.getPlayerName());
+        }
+        for (String playerName : standings.keySet()) {
+            if (!loaded.contains(playerName)) {
+                remove(playerName);
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPlayerStatsChanged(PlayerStatsChangedEvent event) {
+        if (event.allPlayers()) {
+            load();
+            return;
+        }
+        for (PlayerStats stats : playerStatsRepo.findAllById(event.playerNames())) {
+            update(stats, false);
+        }
+    }
+
+    /**
+     * Best K players for a metric
+     */
+    public List<LeaderboardEntry> top(Metric metric, int k) {
+        List<LeaderboardEntry> entries = new ArrayList<>(k);
+        int rank = 1;
+        for (Standing standing : rankings.get(metric).values()) {
+            if (entries.size() == k) {
+                break;
+            }
+            entries.add(toEntry(rank++, standing));
+        }
+        return entries;
+    }
+
+    /**
+     * A player's rank for a metric with up to the given number of players either side,
+     * empty if the player is not ranked for it
+     */
+    public Optional<LeaderboardPosition> position(Metric metric, String playerName, int neighbours) {
+        Standing standing = standings.get(playerName);
+        if (standing == null || !ranked(metric, standing)) {
+            return Optional.empty();
+        }
+        ConcurrentSkipListMap<RankKey, Standing> ranking = rankings.get(metric);
+        RankKey key = key(metric, standing);
+        int rank = rankIndexes.get(metric).countBefore(key) + 1;
+
+        List<Standing> above = new ArrayList<>(ranking.headMap(key).descendingMap().values().stream().limit(neighbours).toList());
+        Collections.reverse(above);
+        List<LeaderboardEntry> around = new ArrayList<>();
+        int aboveRank = rank - above.size();
+        for (Standing other : above) {
+            around.add(toEntry(aboveRank++, other));
+        }
+        around.add(toEntry(rank, standing));
+        int belowRank = rank + 1;
+        for (Standing other : ranking.tailMap(key, false).values().stream().limit(neighbours).toList()) {
+            around.add(toEntry(belowRank++, other));
+        }
+        return Optional.of(new LeaderboardPosition(metric, rank, ranking.size(), around));
+    }
+
+    private void update(PlayerStats stats, boolean force) {
+        Standing next = new Standing(stats.getPlayerName(), stats.getGames(), stats.getWins(), stats.getBestScore());
+        standings.compute(stats.getPlayerName(), (playerName, current) -> {
+            // Games only go up, so an older read arriving late is ignored
+            if (current != null && !force && current.games() > next.games()) {
+                return current;
+            }
+            for (Metric metric : Metric.values()) {
+                if (current != null) {
+                    unrank(metric, current);
+                }
+                if (ranked(metric, next)) {
+                    RankKey key = key(metric, next);
+                    if (rankings.get(metric).put(key, next) == null) {
+                        rankIndexes.get(metric).add(key);
+                    }
+                }
+            }
+            return next;
+        });
+    }
+
+    private void remove(String playerName) {
+        standings.computeIfPresent(playerName, (name, current) -> {
+            for (Metric metric : Metric.values()) {
+                unrank(metric, current);
+            }
+            return null;
+        });
+    }
+
+    private void unrank(Metric metric, Standing standing) {
+        RankKey key = key(metric, standing);
+        if (rankings.get(metric).remove(key) != null) {
+            rankIndexes.get(metric).remove(key);
+        }
+    }
+
+    private boolean ranked(Metric metric, Standing standing) {
+        return metric != Metric.WIN_RATE || standing.games() >= minGamesForWinRate;
+    }
+
+    private RankKey key(Metric metric, Standing standing) {
+        return switch (metric) {
+            case BEST_SCORE -> new RankKey(standing.bestScore(), standing.playerName());
+            case WIN_RATE -> new RankKey(-standing.winRate(), standing.playerName());
+            case WINS -> new RankKey(-standing.wins(), standing.playerName());
+        };
+    }
+
+    private LeaderboardEntry toEntry(int rank, Standing standing) {
+        return new LeaderboardEntry(rank, standing.playerName(), standing.games(), standing.wins(),
+                standing.bestScore(), standing.winRate());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.gameresult;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/results/leaderboard")
+public class LeaderboardController {
+
+    private static final int MAX_K = 100;
+    private static final int MAX_NEIGHBOURS = 25;
+
+    private final Leaderboard leaderboard;
+
+    public LeaderboardController(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    /**
+     * Top players for a metric
+     * GET /api/results/leaderboard?metric=WINS&k=10
+     */
+    @GetMapping
+    public ResponseEntity<List<LeaderboardEntry>> top(
+            @RequestParam(defaultValue = "WINS") Leaderboard.Metric metric,
+            @RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(leaderboard.top(metric, Math.min(Math.max(k, 1), MAX_K)));
+    }
+
+    /**
+     * A player's rank and the players around them
+     * GET /api/results/leaderboard/players/{name}?metric=WINS&neighbours=2
+     */
+    @GetMapping("/players/{name}")
+    public ResponseEntity<LeaderboardPosition> position(
+            @PathVariable String name,
+            @RequestParam(defaultValue = "WINS") Leaderboard.Metric metric,
+            @RequestParam(defaultValue = "2") int neighbours) {
+        return leaderboard.position(metric, name, Math.min(Math.max(neighbours, 0), MAX_NEIGHBOURS))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.gameresult;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class LeaderboardEntry {
+    private int rank;
+    private String playerName;
+    private int games;
+    private int wins;
+    private int bestScore;
+    private double winRate;
+}
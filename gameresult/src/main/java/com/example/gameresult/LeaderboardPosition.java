@@ -0,0 +1,19 @@
+package com.example.gameresult;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class LeaderboardPosition {
+    private Leaderboard.Metric metric;
+    private int rank;
+    private int rankedPlayers;
+    private List<LeaderboardEntry> neighbours; // players around this one, including it, best first
+}
@@ -0,0 +1,38 @@
+package com.example.gameresult;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running totals per player, kept up to date as results are stored
+ */
+@Entity
+@Table(name = "player_stats")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class PlayerStats {
+    @Id
+    private String playerName;
+
+    private int games;
+    private int wins;
+    private int losses;
+    private int ties;
+    private int bestScore; // lowest player score, lower is better
+    private long totalScore;
+    private int currentStreak; // +n after n wins in a row, -n after n losses, 0 after a tie
+    private LocalDateTime updatedAt;
+
+    public double getAverageScore() {
+        return games == 0 ? 0.0 : (double) totalScore / games;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.gameresult;
+
+import java.util.Set;
+
+/**
+ * Published when player_stats rows change, listeners act on it after commit
+ *
+ * @param playerNames players whose rows changed, ignored when allPlayers is set
+ * @param allPlayers  the whole table was rebuilt
+ */
+public record PlayerStatsChangedEvent(Set<String> playerNames, boolean allPlayers) {
+}
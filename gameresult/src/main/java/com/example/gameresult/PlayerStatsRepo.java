@@ -0,0 +1,6 @@
+package com.example.gameresult;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PlayerStatsRepo extends JpaRepository<PlayerStats, String> {
+}
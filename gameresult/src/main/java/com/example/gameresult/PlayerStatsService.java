@@ -0,0 +1,235 @@
+package com.example.gameresult;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Keeps player_stats in step with game_result. Each batch of new results becomes one row
+ * delta per player, applied with an additive upsert, so concurrent consumers never have to
+ * read a player's row first.
+ */
+@Service
+public class PlayerStatsService {
+
+    /**
+     * New current_streak from the stored one and a batch's delta: a batch that only extended
+     * one streak (bound parameter, Delta.unbroken) adds to a stored streak of the same sign,
+     * anything else replaces it
+     */
+    static final String STREAK_MERGE = """
+            case
+                    when ? and sign(player_stats.current_streak) = sign(excluded.current_streak)
+                        then player_stats.current_streak + excluded.current_streak
+                    else excluded.current_streak end""";
+
+    private static final String UPSERT = """
+            insert into player_stats (player_name, games, wins, losses, ties, best_score, total_score, current_streak, updated_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            on conflict (player_name) do update set
+                games = player_stats.games + excluded.games,
+                wins = player_stats.wins + excluded.wins,
+                losses = player_stats.losses + excluded.losses,
+                ties = player_stats.ties + excluded.ties,
+                best_score = least(player_stats.best_score, excluded.best_score),
+                total_score = player_stats.total_score + excluded.total_score,
+                current_streak = %s,
+                updated_at = excluded.updated_at
+            """.formatted(STREAK_MERGE);
+
+    /** Games read per query while recounting a streak */
+    private static final int STREAK_PAGE = 100;
+
+    private final PlayerStatsRepo playerStatsRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PlayerStatsService(PlayerStatsRepo playerStatsRepo, JdbcTemplate jdbcTemplate,
+                              ApplicationEventPublisher eventPublisher) {
+        this.playerStatsRepo = playerStatsRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public Optional<PlayerStats> getPlayerStats(String playerName) {
+        return playerStatsRepo.findById(playerName);
+    }
+
+    /**
+     * Add newly stored results to their players' stats, in the caller's transaction.
+     * Results must be in the order they happened for the streaks to be right.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordResults(List<GameResult> results) {
+        Map<String, Delta> deltas = new LinkedHashMap<>();
+        for (GameResult result : results) {
+            if (result.getPlayerName() != null) {
+                deltas.computeIfAbsent(result.getPlayerName(), name -> new Delta()).add(result);
+            }
+        }
+        upsert(deltas);
+        if (!deltas.isEmpty()) {
+            eventPublisher.publishEvent(new PlayerStatsChangedEvent(Set.copyOf(deltas.keySet()), false));
+        }
+    }
+
+    /**
+     * Add results that may be older than games already counted, in the caller's transaction.
+     * Totals are added as in recordResults, but a streak can't be extended by games played
+     * before it, so each player's current streak is recounted from their latest games.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordImportedResults(List<GameResult> results) {
+        Map<String, Delta> deltas = new LinkedHashMap<>();
+        for (GameResult result : results) {
+            if (result.getPlayerName() != null) {
+                deltas.computeIfAbsent(result.getPlayerName(), name -> new Delta()).add(result);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // The upsert locks the rows first, a consumer saving a new game for the same player
+        // waits and then extends the recounted streak
+        upsert(deltas);
+        List<Object[]> streaks = new ArrayList<>(deltas.size());
+        for (String player : new TreeSet<>(deltas.keySet())) {
+            streaks.add(new Object[]{currentStreak(player), player});
+        }
+        jdbcTemplate.batchUpdate("update player_stats set current_streak = ? where player_name = ?", streaks);
+        eventPublisher.publishEvent(new PlayerStatsChangedEvent(Set.copyOf(deltas.keySet()), false));
+    }
+
+    /**
+     * The player's streak at their latest stored game: wins positive, losses negative, 0
+     * after a tie. Reads newest games a page at a time until the streak breaks.
+     */
+    int currentStreak(String playerName) {
+        int streak = 0;
+        String streakWinner = null;
+        Timestamp beforeDate = null;
+        long beforeId = 0;
+        while (true) {
+            List<Object[]> page = beforeDate == null
+                    ? jdbcTemplate.query("select winner, game_date, id from game_result where player_name = ?"
+                            + " order by game_date desc, id desc limit " + STREAK_PAGE,
+                            (row, rowNum) -> new Object[]{row.getString(1), row.getTimestamp(2), row.getLong(3)},
+                            playerName)
+                    : jdbcTemplate.query("select winner, game_date, id from game_result where player_name = ?"
+                            + " and game_date <= ? and (game_date < ? or (game_date = ? and id < ?))"
+                            + " order by game_date desc, id desc limit " + STREAK_PAGE,
+                            (row, rowNum) -> new Object[]{row.getString(1), row.getTimestamp(2), row.getLong(3)},
+                            playerName, beforeDate, beforeDate, beforeDate, beforeId);
+            for (Object[] row : page) {
+                String winner = (String) row[0];
+                if (streakWinner == null) {
+                    if (!"PLAYER".equals(winner) && !"COMPUTER".equals(winner)) {
+                        return 0;
+                    }
+                    streakWinner = winner;
+                } else if (!streakWinner.equals(winner)) {
+                    return "PLAYER".equals(streakWinner) ? streak : -streak;
+                }
+                streak++;
+            }
+            if (page.size() < STREAK_PAGE) {
+                return streakWinner == null || "PLAYER".equals(streakWinner) ? streak : -streak;
+            }
+            Object[] last = page.get(page.size() - 1);
+            beforeDate = (Timestamp) last[1];
+            beforeId = (Long) last[2];
+        }
+    }
+
+    /**
+     * Recompute every player's stats from game_result, for results stored before player_stats
+     * existed. The table lock makes consumers wait, their results are added on top afterwards.
+     */
+    @Transactional
+    public int rebuild() {
+        jdbcTemplate.execute("lock table player_stats in exclusive mode");
+        jdbcTemplate.update("delete from player_stats");
+
+        Map<String, Delta> deltas = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "select player_name, player_score, winner from game_result where player_name is not null order by game_date, id",
+                row -> {
+                    GameResult result = new GameResult();
+                    result.setPlayerName(row.getString(1));
+                    result.setPlayerScore(row.getInt(2));
+                    result.setWinner(row.getString(3));
+                    deltas.computeIfAbsent(result.getPlayerName(), name -> new Delta()).add(result);
+                });
+
+        upsert(deltas);
+        eventPublisher.publishEvent(new PlayerStatsChangedEvent(Set.of(), true));
+        return deltas.size();
+    }
+
+    private void upsert(Map<String, Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // Fixed lock order across consumers, avoids deadlocks between overlapping batches
+        List<Map.Entry<String, Delta>> rows = new ArrayList<>(deltas.entrySet());
+        rows.sort(Map.Entry.comparingByKey());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT, rows, rows.size(), (statement, row) -> {
+            Delta delta = row.getValue();
+            statement.setString(1, row.getKey());
+            statement.setInt(2, delta.games);
+            statement.setInt(3, delta.wins);
+            statement.setInt(4, delta.losses);
+            statement.setInt(5, delta.ties);
+            statement.setInt(6, delta.bestScore);
+            statement.setLong(7, delta.totalScore);
+            statement.setInt(8, delta.streak);
+            statement.setTimestamp(9, now);
+            statement.setBoolean(10, delta.unbroken);
+        });
+    }
+
+    /**
+     * Change to one player's stats from a run of results
+     */
+    static class Delta {
+        int games;
+        int wins;
+        int losses;
+        int ties;
+        int bestScore = Integer.MAX_VALUE;
+        long totalScore;
+        int streak;
+        boolean unbroken = true; // every result so far extended the same streak
+
+        void add(GameResult result) {
+            games++;
+            totalScore += result.getPlayerScore();
+            bestScore = Math.min(bestScore, result.getPlayerScore());
+            switch (result.getWinner()) {
+                case "PLAYER" -> {
+                    wins++;
+                    unbroken &= streak >= 0;
+                    streak = streak > 0 ? streak + 1 : 1;
+                }
+                case "COMPUTER" -> {
+                    losses++;
+                    unbroken &= streak <= 0;
+                    streak = streak < 0 ? streak - 1 : -1;
+                }
+                default -> {
+                    ties++;
+                    unbroken = false;
+                    streak = 0;
+                }
+            }
+        }
+    }
+}
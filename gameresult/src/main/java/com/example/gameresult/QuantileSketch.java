@@ -0,0 +1,229 @@
+package com.example.gameresult;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * KLL quantile sketch over ints. Values go into level 0; when a level is full it is sorted
+ * and every other value (random offset) moves up a level with twice the weight. Lower
+ * levels get smaller capacities, so the sketch holds at most about 3k values however many
+ * it has seen, and ranks are off by up to about 3.3/k of the count (1.7% at k = 200). Two
+ * sketches merge by concatenating their levels and compacting again.
+ *
+ * Not thread safe.
+ */
+public class QuantileSketch {
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final byte FORMAT_VERSION = 1;
+
+    private final int k;
+    private final List<int[]> levels = new ArrayList<>();
+    private final List<Integer> sizes = new ArrayList<>();
+    private long count;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+
+    public QuantileSketch(int k) {
+        if (k < 8) {
+            throw new IllegalArgumentException("k must be at least 8: " + k);
+        }
+        this.k = k;
+        addLevel();
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public void update(int value) {
+        append(0, value);
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        compact();
+    }
+
+    /**
+     * Add everything other has seen to this sketch
+     */
+    public void merge(QuantileSketch other) {
+        while (levels.size() < other.levels.size()) {
+            addLevel();
+        }
+        for (int level = 0; level < other.levels.size(); level++) {
+            int[] items = other.levels.get(level);
+            for (int i = 0; i < other.sizes.get(level); i++) {
+                append(level, items[i]);
+            }
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        compact();
+    }
+
+    /**
+     * Approximate fraction of values less than value (inclusive = false) or at most value
+     */
+    public double rank(int value, boolean inclusive) {
+        if (count == 0) {
+            return 0.0;
+        }
+        long weight = 0;
+        for (int level = 0; level < levels.size(); level++) {
+            int[] items = levels.get(level);
+            for (int i = 0; i < sizes.get(level); i++) {
+                if (items[i] < value || (inclusive && items[i] == value)) {
+                    weight += 1L << level;
+                }
+            }
+        }
+        return Math.min(1.0, (double) weight / count);
+    }
+
+    /**
+     * Approximate value at fraction q of the sorted values, q in [0, 1]
+     *
+     * @throws IllegalStateException if the sketch is empty
+     */
+    public int quantile(double q) {
+        if (count == 0) {
+            throw new IllegalStateException("Empty sketch");
+        }
+        if (q <= 0.0) {
+            return min;
+        }
+        if (q >= 1.0) {
+            return max;
+        }
+        // Pack (value, level) into longs so one sort orders every retained value
+        int retained = 0;
+        for (int size : sizes) {
+            retained += size;
+        }
+        long[] weighted = new long[retained];
+        int n = 0;
+        for (int level = 0; level < levels.size(); level++) {
+            int[] items = levels.get(level);
+            for (int i = 0; i < sizes.get(level); i++) {
+                weighted[n++] = ((long) items[i] << 8) | level;
+            }
+        }
+        Arrays.sort(weighted);
+
+        long total = 0;
+        for (long item : weighted) {
+            total += 1L << (item & 0xFF);
+        }
+        double target = q * total;
+        long cumulative = 0;
+        for (long item : weighted) {
+            cumulative += 1L << (item & 0xFF);
+            if (cumulative >= target) {
+                return (int) (item >> 8);
+            }
+        }
+        return max;
+    }
+
+    public byte[] toBytes() {
+        int retained = 0;
+        for (int size : sizes) {
+            retained += size;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 8 + 4 + 4 + 4 + 4 * levels.size() + 4 * retained);
+        buffer.put(FORMAT_VERSION).putInt(k).putLong(count).putInt(min).putInt(max).putInt(levels.size());
+        for (int level = 0; level < levels.size(); level++) {
+            int size = sizes.get(level);
+            buffer.putInt(size);
+            int[] items = levels.get(level);
+            for (int i = 0; i < size; i++) {
+                buffer.putInt(items[i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @throws IllegalArgumentException if bytes were not written by toBytes
+     */
+    public static QuantileSketch fromBytes(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            byte version = buffer.get();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unknown sketch format version " + version);
+            }
+            QuantileSketch sketch = new QuantileSketch(buffer.getInt());
+            sketch.count = buffer.getLong();
+            sketch.min = buffer.getInt();
+            sketch.max = buffer.getInt();
+            int levelCount = buffer.getInt();
+            for (int level = 0; level < levelCount; level++) {
+                if (level > 0) {
+                    sketch.addLevel();
+                }
+                int size = buffer.getInt();
+                for (int i = 0; i < size; i++) {
+                    sketch.append(level, buffer.getInt());
+                }
+            }
+            return sketch;
+        } catch (RuntimeException e) {
+            if (e instanceof IllegalArgumentException) {
+                throw e;
+            }
+            throw new IllegalArgumentException("Malformed sketch", e);
+        }
+    }
+
+    private int capacity(int level) {
+        int depth = levels.size() - level - 1;
+        return Math.max(2, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private void compact() {
+        for (int level = 0; level < levels.size(); level++) {
+            int size = sizes.get(level);
+            if (size < capacity(level)) {
+                continue;
+            }
+            if (level == levels.size() - 1) {
+                addLevel();
+            }
+            int[] items = levels.get(level);
+            Arrays.sort(items, 0, size);
+            // An odd value out stays behind so the weight moved up is exact
+            int pairs = size / 2;
+            int offset = ThreadLocalRandom.current().nextBoolean() ? 1 : 0;
+            for (int i = 0; i < pairs; i++) {
+                append(level + 1, items[2 * i + offset]);
+            }
+            int leftover = size % 2 == 1 ? items[size - 1] : 0;
+            sizes.set(level, 0);
+            if (size % 2 == 1) {
+                append(level, leftover);
+            }
+        }
+    }
+
+    private void addLevel() {
+        levels.add(new int[8]);
+        sizes.add(0);
+    }
+
+    private void append(int level, int value) {
+        int[] items = levels.get(level);
+        int size = sizes.get(level);
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+            levels.set(level, items);
+        }
+        items[size] = value;
+        sizes.set(level, size + 1);
+    }
+}
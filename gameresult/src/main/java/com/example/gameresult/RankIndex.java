@@ -0,0 +1,131 @@
+package com.example.gameresult;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Set of distinct keys that can count the keys ordered before a given one in O(log n),
+ * a treap whose nodes carry their subtree size. Works for any ordering, including ties
+ * broken by name and fractional metrics such as win rate, which score buckets cannot.
+ */
+class RankIndex<K extends Comparable<K>> {
+
+    private static final class Node<K> {
+        final K key;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        Node<K> left;
+        Node<K> right;
+        int size = 1;
+
+        Node(K key) {
+            this.key = key;
+        }
+    }
+
+    private Node<K> root;
+
+    /**
+     * Adds a key that is not already present
+     */
+    public synchronized void add(K key) {
+        root = insert(root, new Node<>(key));
+    }
+
+    public synchronized void remove(K key) {
+        root = delete(root, key);
+    }
+
+    /**
+     * Number of keys that sort before the given one, so its 0-based rank if present
+     */
+    public synchronized int countBefore(K key) {
+        int count = 0;
+        Node<K> node = root;
+        while (node != null) {
+            if (key.compareTo(node.key) <= 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    private Node<K> insert(Node<K> node, Node<K> added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.priority > node.priority) {
+            split(node, added);
+            return resize(added);
+        }
+        if (added.key.compareTo(node.key) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return resize(node);
+    }
+
+    /** Splits the tree into keys before and after the added node's key, hung off that node */
+    private void split(Node<K> node, Node<K> added) {
+        if (node == null) {
+            added.left = null;
+            added.right = null;
+            return;
+        }
+        if (node.key.compareTo(added.key) < 0) {
+            split(node.right, added);
+            node.right = added.left;
+            added.left = resize(node);
+        } else {
+            split(node.left, added);
+            node.left = added.right;
+            added.right = resize(node);
+        }
+    }
+
+    private Node<K> delete(Node<K> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        int byKey = key.compareTo(node.key);
+        if (byKey == 0) {
+            return merge(node.left, node.right);
+        }
+        if (byKey < 0) {
+            node.left = delete(node.left, key);
+        } else {
+            node.right = delete(node.right, key);
+        }
+        return resize(node);
+    }
+
+    private Node<K> merge(Node<K> left, Node<K> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return resize(left);
+        }
+        right.left = merge(left, right.left);
+        return resize(right);
+    }
+
+    private Node<K> resize(Node<K> node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private int size(Node<K> node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.gameresult;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Game IDs whose results are known to be stored, so redelivered or repeated results can be
+ * dropped without asking the database. Bounded LRU; an ID that has been evicted is still
+ * caught by game_result_key.
+ */
+@Component
+public class RecentGameIds {
+
+    private final Map<Long, Boolean> recent;
+
+    public RecentGameIds(@Value("${game.results.dedupe.recent-capacity:100000}") int capacity) {
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public synchronized boolean contains(Long gameId) {
+        return gameId != null && recent.get(gameId) != null;
+    }
+
+    public synchronized void addAll(Collection<Long> gameIds) {
+        for (Long gameId : gameIds) {
+            if (gameId != null) {
+                recent.put(gameId, Boolean.TRUE);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.gameresult;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The last results stored, newest first, kept in a lock-free ring buffer so recent-results
+ * reads never reach the database. Writers claim a sequence number and fill its slot; a
+ * reader skips slots that are still being filled or were already overwritten. Serialized
+ * bodies are cached per size until the next append.
+ */
+@Component
+public class RecentResults {
+
+    private static final int MAX_CACHED_BODIES = 16;
+
+    private record Slot(long sequence, GameResult result) {
+    }
+
+    private record Bodies(long version, Map<Integer, byte[]> bySize) {
+    }
+
+    private final GameResultRepo gameResultRepo;
+    private final ObjectMapper objectMapper;
+    private final int capacity;
+    private final AtomicReferenceArray<Slot> slots;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final AtomicLong completedAppends = new AtomicLong(); // bumped once a slot is filled, versions the cache
+    private volatile Bodies bodies = new Bodies(-1, new ConcurrentHashMap<>());
+
+    public RecentResults(GameResultRepo gameResultRepo, ObjectMapper objectMapper,
+                         @Value("${game.results.recent.capacity:1000}") int capacity) {
+        this.gameResultRepo = gameResultRepo;
+        this.objectMapper = objectMapper;
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Fill the buffer with the latest stored results, before consumers start adding to it
+     */
+    @PostConstruct
+    public void warm() {
+        List<GameResult> latest = gameResultRepo.findAllByOrderByGameDateDescIdDesc(Limit.of(capacity));
+        for (int i = latest.size() - 1; i >= 0; i--) {
+            append(latest.get(i));
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void append(GameResult result) {
+        long sequence = nextSequence.getAndIncrement();
+        slots.set((int) (sequence % capacity), new Slot(sequence, result));
+        completedAppends.incrementAndGet();
+    }
+
+    /**
+     * Append the result only if it is at least as new as the newest one held, so results
+     * stored late (uploads of old games) don't show up as the latest. Not atomic with
+     * concurrent appends, which only ever add results of games that just ended.
+     */
+    public void appendIfNewest(GameResult result) {
+        List<GameResult> newest = latest(1);
+        if (newest.isEmpty() || !isOlder(result, newest.get(0))) {
+            append(result);
+        }
+    }
+
+    private static boolean isOlder(GameResult result, GameResult than) {
+        int byDate = result.getGameDate().compareTo(than.getGameDate());
+        return byDate < 0 || (byDate == 0 && result.getId() < than.getId());
+    }
+
+    /**
+     * Up to count of the newest results, newest first
+     */
+    public List<GameResult> latest(int count) {
+        long newest = nextSequence.get() - 1;
+        long oldest = Math.max(0, newest - Math.min(count, capacity) + 1);
+        List<GameResult> results = new ArrayList<>();
+        for (long sequence = newest; sequence >= oldest; sequence--) {
+            Slot slot = slots.get((int) (sequence % capacity));
+            if (slot != null && slot.sequence() == sequence) {
+                results.add(slot.result());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * latest(count) as a JSON array, serialized once per count between appends
+     */
+    public byte[] latestJson(int count) {
+        long version = completedAppends.get();
+        Bodies current = bodies;
+        if (current.version() != version) {
+            current = new Bodies(version, new ConcurrentHashMap<>());
+            bodies = current;
+        }
+        byte[] body = current.bySize().get(count);
+        if (body == null) {
+            try {
+                body = objectMapper.writeValueAsBytes(latest(count));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize recent results", e);
+            }
+            if (current.bySize().size() < MAX_CACHED_BODIES) {
+                current.bySize().put(count, body);
+            }
+        }
+        return body;
+    }
+}
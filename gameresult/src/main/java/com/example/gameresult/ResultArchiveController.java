@@ -0,0 +1,70 @@
+package com.example.gameresult;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Operator endpoints, refused by the gateway (see its SecurityConfig)
+ */
+@RestController
+@RequestMapping("/api/results/admin/archives")
+public class ResultArchiveController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final GameResultPartitions gameResultPartitions;
+
+    public ResultArchiveController(GameResultPartitions gameResultPartitions) {
+        this.gameResultPartitions = gameResultPartitions;
+    }
+
+    /**
+     * Archived months, e.g. ["2024-01", "2024-02"]
+     * GET /api/results/admin/archives
+     */
+    @GetMapping
+    public ResponseEntity<List<String>> listArchives() {
+        return ResponseEntity.ok(gameResultPartitions.archives().stream().map(YearMonth::toString).toList());
+    }
+
+    /**
+     * An archived month's results as newline-delimited JSON
+     * GET /api/results/admin/archives/2024-01
+     */
+    @GetMapping("/{month}")
+    public ResponseEntity<StreamingResponseBody> readArchive(@PathVariable String month) {
+        YearMonth archived;
+        try {
+            archived = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!gameResultPartitions.archives().contains(archived)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(out -> gameResultPartitions.readArchive(archived, out));
+    }
+
+    /**
+     * Move an archived month back into game_result
+     * POST /api/results/admin/archives/2024-01/restore
+     */
+    @PostMapping("/{month}/restore")
+    public ResponseEntity<Integer> restore(@PathVariable String month) {
+        try {
+            return ResponseEntity.ok(gameResultPartitions.restore(YearMonth.parse(month)));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.gameresult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in a list of results ordered by (game_date, id) descending, handed to clients
+ * as an opaque string
+ */
+public record ResultCursor(LocalDateTime gameDate, long id) {
+
+    public static ResultCursor after(GameResult last) {
+        return new ResultCursor(last.getGameDate(), last.getId());
+    }
+
+    public String encode() {
+        String position = gameDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if cursor was not returned by encode
+     */
+    public static ResultCursor decode(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new ResultCursor(LocalDateTime.parse(position[0]), Long.parseLong(position[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.gameresult;
+
+import java.time.LocalDateTime;
+
+/**
+ * Conditions for a result search, null means no condition. Dates are [from, to), scores
+ * are player scores and inclusive.
+ */
+public record ResultFilter(String playerName, String winner, LocalDateTime from, LocalDateTime to,
+                           Integer minScore, Integer maxScore) {
+}
@@ -0,0 +1,17 @@
+package com.example.gameresult;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ResultPage {
+    private List<GameResult> results;
+    private String nextCursor; // pass as cursor to get the next page, null on the last page
+}
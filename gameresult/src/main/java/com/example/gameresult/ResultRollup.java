@@ -0,0 +1,71 @@
+package com.example.gameresult;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Totals of all results whose game date falls in one hour or one day
+ */
+@Entity
+@Table(name = "result_rollup")
+@IdClass(ResultRollup.Key.class)
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ResultRollup {
+    @Id
+    private String granularity; // "hour" or "day"
+    @Id
+    private LocalDateTime bucketStart;
+
+    private long games;
+    private long playerWins;
+    private long computerWins;
+    private long ties;
+    private long totalPlayerScore;
+    private long totalComputerScore;
+    private long totalRounds;
+
+    public double getPlayerWinRatio() {
+        return games == 0 ? 0.0 : (double) playerWins / games;
+    }
+
+    public double getComputerWinRatio() {
+        return games == 0 ? 0.0 : (double) computerWins / games;
+    }
+
+    public double getTieRatio() {
+        return games == 0 ? 0.0 : (double) ties / games;
+    }
+
+    public double getAveragePlayerScore() {
+        return games == 0 ? 0.0 : (double) totalPlayerScore / games;
+    }
+
+    public double getAverageComputerScore() {
+        return games == 0 ? 0.0 : (double) totalComputerScore / games;
+    }
+
+    public double getAverageRounds() {
+        return games == 0 ? 0.0 : (double) totalRounds / games;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String granularity;
+        private LocalDateTime bucketStart;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.gameresult;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ResultRollupRepo extends JpaRepository<ResultRollup, ResultRollup.Key> {
+    List<ResultRollup> findByGranularityAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+            String granularity, LocalDateTime from, LocalDateTime to);
+}
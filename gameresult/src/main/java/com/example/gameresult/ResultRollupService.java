@@ -0,0 +1,168 @@
+package com.example.gameresult;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Keeps hourly and daily totals in result_rollup in step with game_result. New results are
+ * added to their buckets with an additive upsert, whenever they arrive. A periodic recompute
+ * rebuilds the recent buckets from game_result to correct anything that got in another way.
+ * Buckets outlive archived partitions, so reports still cover archived months.
+ */
+@Service
+public class ResultRollupService {
+
+    public static final String HOUR = "hour";
+    public static final String DAY = "day";
+
+    private static final String UPSERT = """
+            insert into result_rollup (granularity, bucket_start, games, player_wins, computer_wins, ties,
+                                       total_player_score, total_computer_score, total_rounds)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            on conflict (granularity, bucket_start) do update set
+                games = result_rollup.games + excluded.games,
+                player_wins = result_rollup.player_wins + excluded.player_wins,
+                computer_wins = result_rollup.computer_wins + excluded.computer_wins,
+                ties = result_rollup.ties + excluded.ties,
+                total_player_score = result_rollup.total_player_score + excluded.total_player_score,
+                total_computer_score = result_rollup.total_computer_score + excluded.total_computer_score,
+                total_rounds = result_rollup.total_rounds + excluded.total_rounds
+            """;
+
+    private static final String RECOMPUTE = """
+            insert into result_rollup (granularity, bucket_start, games, player_wins, computer_wins, ties,
+                                       total_player_score, total_computer_score, total_rounds)
+            select ?, date_trunc(?, game_date), count(*),
+                   count(*) filter (where winner = 'PLAYER'),
+                   count(*) filter (where winner = 'COMPUTER'),
+                   count(*) filter (where winner = 'TIE'),
+                   sum(player_score), sum(computer_score), sum(rounds)
+            from game_result
+            where game_date >= ? and game_date < ?
+            group by 2
+            """;
+
+    private final ResultRollupRepo resultRollupRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final int recomputeHours;
+
+    public ResultRollupService(ResultRollupRepo resultRollupRepo, JdbcTemplate jdbcTemplate,
+                               @Value("${game.results.rollups.recompute-hours:48}") int recomputeHours) {
+        this.resultRollupRepo = resultRollupRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.recomputeHours = recomputeHours;
+    }
+
+    /**
+     * Buckets of one granularity that start in [from, to), oldest first
+     */
+    public List<ResultRollup> getRollups(String granularity, LocalDateTime from, LocalDateTime to) {
+        return resultRollupRepo.findByGranularityAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+                granularity, from, to);
+    }
+
+    /**
+     * Add newly stored results to their hour and day buckets, in the caller's transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordResults(List<GameResult> results) {
+        // Sorted keys give every consumer the same lock order
+        Map<String, Delta> deltas = new TreeMap<>();
+        for (GameResult result : results) {
+            LocalDateTime hour = result.getGameDate().truncatedTo(ChronoUnit.HOURS);
+            deltas.computeIfAbsent(HOUR + "|" + hour, key -> new Delta(HOUR, hour)).add(result);
+            LocalDateTime day = result.getGameDate().truncatedTo(ChronoUnit.DAYS);
+            deltas.computeIfAbsent(DAY + "|" + day, key -> new Delta(DAY, day)).add(result);
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Delta> rows = new ArrayList<>(deltas.values());
+        jdbcTemplate.batchUpdate(UPSERT, rows, rows.size(), (statement, delta) -> {
+            statement.setString(1, delta.granularity);
+            statement.setTimestamp(2, Timestamp.valueOf(delta.bucketStart));
+            statement.setLong(3, delta.games);
+            statement.setLong(4, delta.playerWins);
+            statement.setLong(5, delta.computerWins);
+            statement.setLong(6, delta.ties);
+            statement.setLong(7, delta.totalPlayerScore);
+            statement.setLong(8, delta.totalComputerScore);
+            statement.setLong(9, delta.totalRounds);
+        });
+    }
+
+    /**
+     * Periodically rebuild the buckets of the last recompute-hours from game_result
+     */
+    @Scheduled(fixedDelayString = "${game.results.rollups.recompute-interval-ms:3600000}",
+            initialDelayString = "${game.results.rollups.recompute-interval-ms:3600000}")
+    public void recomputeRecent() {
+        LocalDateTime from = LocalDateTime.now().minusHours(recomputeHours).truncatedTo(ChronoUnit.DAYS);
+        try {
+            recompute(from, LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS));
+        } catch (RuntimeException e) {
+            System.err.println("Failed to recompute result rollups: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild all hour and day buckets in [from, to) from game_result. from and to should be
+     * whole days so day buckets are not rebuilt from part of their results. The table lock
+     * makes consumers wait, their results are added on top afterwards.
+     *
+     * @return the number of buckets written
+     */
+    @Transactional
+    public int recompute(LocalDateTime from, LocalDateTime to) {
+        jdbcTemplate.execute("lock table result_rollup in exclusive mode");
+        jdbcTemplate.update("delete from result_rollup where bucket_start >= ? and bucket_start < ?",
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+        int written = 0;
+        for (String granularity : List.of(HOUR, DAY)) {
+            written += jdbcTemplate.update(RECOMPUTE, granularity, granularity, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        }
+        return written;
+    }
+
+    /**
+     * Change to one bucket from a batch of results
+     */
+    private static class Delta {
+        final String granularity;
+        final LocalDateTime bucketStart;
+        long games;
+        long playerWins;
+        long computerWins;
+        long ties;
+        long totalPlayerScore;
+        long totalComputerScore;
+        long totalRounds;
+
+        Delta(String granularity, LocalDateTime bucketStart) {
+            this.granularity = granularity;
+            this.bucketStart = bucketStart;
+        }
+
+        void add(GameResult result) {
+            games++;
+            totalPlayerScore += result.getPlayerScore();
+            totalComputerScore += result.getComputerScore();
+            totalRounds += result.getRounds();
+            switch (result.getWinner()) {
+                case "PLAYER" -> playerWins++;
+                case "COMPUTER" -> computerWins++;
+                default -> ties++;
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.gameresult;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filtered, paginated result search returning only the columns a results list shows.
+ * Every filter leads with an indexed equality column (player, winner) or falls back to the
+ * (game_date, id) index, and pages are found by keyset so deep pages cost the same as the
+ * first. Totals are counted once per filter and cached for count-ttl-ms.
+ */
+@Service
+public class ResultSearch {
+
+    /** Indexes the searches rely on, created by GameResultPartitions */
+    public static final List<String> INDEXES = List.of(
+            "create index if not exists idx_game_result_player_date on game_result (player_name, game_date, id)",
+            "create index if not exists idx_game_result_player_winner_date on game_result (player_name, winner, game_date, id)",
+            "create index if not exists idx_game_result_winner_date on game_result (winner, game_date, id)");
+
+    private static final int MAX_CACHED_COUNTS = 1000;
+
+    private static final RowMapper<ResultSummary> SUMMARY = (row, rowNum) -> new ResultSummary(
+            row.getLong("id"),
+            row.getString("player_name"),
+            row.getInt("player_score"),
+            row.getInt("computer_score"),
+            row.getString("winner"),
+            row.getTimestamp("game_date").toLocalDateTime());
+
+    /** SQL and its parameters */
+    record Query(String sql, MapSqlParameterSource params) {
+    }
+
+    private record CachedCount(long total, long expiresAt) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final long countTtlMillis;
+    private final Map<ResultFilter, CachedCount> counts = new ConcurrentHashMap<>();
+
+    public ResultSearch(NamedParameterJdbcTemplate jdbcTemplate,
+                        @Value("${game.results.search.count-ttl-ms:30000}") long countTtlMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.countTtlMillis = countTtlMillis;
+    }
+
+    /**
+     * One page of matching results, newest first, after the position in cursor (null for
+     * the first page)
+     *
+     * @throws IllegalArgumentException if the cursor is not one this method returned
+     */
+    public ResultSearchPage search(ResultFilter filter, String cursor, int limit) {
+        ResultCursor after = cursor == null || cursor.isEmpty() ? null : ResultCursor.decode(cursor);
+        Query query = pageQuery(filter, after, limit + 1);
+        List<ResultSummary> results = jdbcTemplate.query(query.sql(), query.params(), SUMMARY);
+
+        String nextCursor = null;
+        if (results.size() > limit) {
+            results = new ArrayList<>(results.subList(0, limit));
+            ResultSummary last = results.get(limit - 1);
+            nextCursor = new ResultCursor(last.getGameDate(), last.getId()).encode();
+        }
+        return new ResultSearchPage(results, nextCursor, count(filter));
+    }
+
+    /**
+     * Number of matching results, at most count-ttl-ms old
+     */
+    public long count(ResultFilter filter) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = counts.get(filter);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.total();
+        }
+        Query query = countQuery(filter);
+        Long total = jdbcTemplate.queryForObject(query.sql(), query.params(), Long.class);
+        if (counts.size() >= MAX_CACHED_COUNTS) {
+            counts.clear();
+        }
+        counts.put(filter, new CachedCount(total == null ? 0 : total, now + countTtlMillis));
+        return total == null ? 0 : total;
+    }
+
+    Query pageQuery(ResultFilter filter, ResultCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder where = where(filter, params);
+        if (after != null) {
+            // game_date <= bounds the index range scan, the rest breaks ties on the same date
+            where.append(" and game_date <= :afterDate and (game_date < :afterDate or (game_date = :afterDate and id < :afterId))");
+            params.addValue("afterDate", Timestamp.valueOf(after.gameDate()));
+            params.addValue("afterId", after.id());
+        }
+        params.addValue("limit", limit);
+        return new Query("select id, player_name, player_score, computer_score, winner, game_date from game_result"
+                + where + " order by game_date desc, id desc limit :limit", params);
+    }
+
+    Query countQuery(ResultFilter filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        return new Query("select count(*) from game_result" + where(filter, params), params);
+    }
+
+    private static StringBuilder where(ResultFilter filter, MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder(" where 1 = 1");
+        if (filter.playerName() != null) {
+            where.append(" and player_name = :playerName");
+            params.addValue("playerName", filter.playerName());
+        }
+        if (filter.winner() != null) {
+            where.append(" and winner = :winner");
+            params.addValue("winner", filter.winner());
+        }
+        if (filter.from() != null) {
+            where.append(" and game_date >= :from");
+            params.addValue("from", Timestamp.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            where.append(" and game_date < :to");
+            params.addValue("to", Timestamp.valueOf(filter.to()));
+        }
+        if (filter.minScore() != null) {
+            where.append(" and player_score >= :minScore");
+            params.addValue("minScore", filter.minScore());
+        }
+        if (filter.maxScore() != null) {
+            where.append(" and player_score <= :maxScore");
+            params.addValue("maxScore", filter.maxScore());
+        }
+        return where;
+    }
+}
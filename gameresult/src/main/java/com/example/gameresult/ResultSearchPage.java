@@ -0,0 +1,18 @@
+package com.example.gameresult;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ResultSearchPage {
+    private List<ResultSummary> results;
+    private String nextCursor; // pass as cursor to get the next page, null on the last page
+    private long total;        // matching results, may be up to count-ttl-ms old
+}
@@ -0,0 +1,21 @@
+package com.example.gameresult;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ResultSummary {
+    private long id;
+    private String playerName;
+    private int playerScore;
+    private int computerScore;
+    private String winner;
+    private LocalDateTime gameDate;
+}
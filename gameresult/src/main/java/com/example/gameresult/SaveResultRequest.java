@@ -6,13 +6,17 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
 public class SaveResultRequest {
+    private Long gameId; // optional, repeated requests for the same game are saved once
     private String playerName;
     private int playerScore;
     private int computerScore;
     private int rounds;
+    private LocalDateTime gameDate; // optional, only used by batch backfills; defaults to now
 }
\ No newline at end of file
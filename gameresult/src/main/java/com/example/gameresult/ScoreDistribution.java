@@ -0,0 +1,19 @@
+package com.example.gameresult;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ScoreDistribution {
+    private ScoreDistributions.Dimension dimension;
+    private String playerName; // null for all games
+    private long count;
+    private Map<Double, Integer> quantiles; // approximate value at each requested fraction
+}
@@ -0,0 +1,60 @@
+package com.example.gameresult;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/results")
+public class ScoreDistributionController {
+
+    private static final int MAX_FRACTIONS = 100;
+
+    private final ScoreDistributions scoreDistributions;
+
+    public ScoreDistributionController(ScoreDistributions scoreDistributions) {
+        this.scoreDistributions = scoreDistributions;
+    }
+
+    /**
+     * Approximate percentiles over all games, or one player's games
+     * GET /api/results/percentiles?dimension=PLAYER_SCORE&player=alice&q=0.5,0.9,0.99
+     */
+    @GetMapping("/percentiles")
+    public ResponseEntity<ScoreDistribution> distribution(
+            @RequestParam(defaultValue = "PLAYER_SCORE") ScoreDistributions.Dimension dimension,
+            @RequestParam(required = false) String player,
+            @RequestParam(defaultValue = "0.5,0.9,0.99") List<Double> q) {
+        if (q.isEmpty() || q.size() > MAX_FRACTIONS || q.stream().anyMatch(fraction -> !(fraction >= 0.0 && fraction <= 1.0))) {
+            return ResponseEntity.badRequest().build();
+        }
+        return scoreDistributions.distribution(dimension, player, q)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Share of games below and above a value, e.g. how many games a score beats
+     * GET /api/results/percentiles/rank?dimension=PLAYER_SCORE&value=12&player=alice
+     */
+    @GetMapping("/percentiles/rank")
+    public ResponseEntity<ScoreRank> rank(
+            @RequestParam(defaultValue = "PLAYER_SCORE") ScoreDistributions.Dimension dimension,
+            @RequestParam(required = false) String player,
+            @RequestParam int value) {
+        return scoreDistributions.rank(dimension, player, value)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Recompute all sketches from stored results, deleting and rewriting every one, so it is
+     * an operator endpoint the gateway refuses
+     * POST /api/results/admin/percentiles/rebuild
+     */
+    @PostMapping("/admin/percentiles/rebuild")
+    public ResponseEntity<Integer> rebuild() {
+        return ResponseEntity.ok(scoreDistributions.rebuild());
+    }
+}
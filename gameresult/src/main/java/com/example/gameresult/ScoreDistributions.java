@@ -0,0 +1,243 @@
+package com.example.gameresult;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Approximate distributions of player score, computer score and rounds, over all games and
+ * per player, kept as one QuantileSketch each. Sketches are updated in memory as results
+ * are committed and flushed to score_sketch periodically; a crash loses at most one flush
+ * interval of updates. Player sketches are loaded on first use and evicted again once
+ * flushed when more than max-cached are held.
+ */
+@Service
+public class ScoreDistributions {
+
+    public enum Dimension {
+        PLAYER_SCORE(GameResult::getPlayerScore),
+        COMPUTER_SCORE(GameResult::getComputerScore),
+        ROUNDS(GameResult::getRounds);
+
+        private final ToIntFunction<GameResult> value;
+
+        Dimension(ToIntFunction<GameResult> value) {
+            this.value = value;
+        }
+    }
+
+    private static final String UPSERT = """
+            insert into score_sketch (sketch_key, data, updated_at) values (?, ?, ?)
+            on conflict (sketch_key) do update set data = excluded.data, updated_at = excluded.updated_at
+            """;
+
+    /** A sketch and whether it has changed since it was last flushed, guarded by the map entry */
+    private static class Held {
+        final QuantileSketch sketch;
+        boolean dirty;
+
+        Held(QuantileSketch sketch) {
+            this.sketch = sketch;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int k;
+    private final int maxCached;
+    private final Map<String, Held> sketches = new ConcurrentHashMap<>();
+
+    public ScoreDistributions(JdbcTemplate jdbcTemplate,
+                              @Value("${game.results.sketches.k:200}") int k,
+                              @Value("${game.results.sketches.max-cached:10000}") int maxCached) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.k = k;
+        this.maxCached = maxCached;
+    }
+
+    /**
+     * Add committed results to the global and per-player sketches
+     */
+    public void record(List<GameResult> results) {
+        Map<String, List<Integer>> values = new HashMap<>();
+        for (GameResult result : results) {
+            for (Dimension dimension : Dimension.values()) {
+                int value = dimension.value.applyAsInt(result);
+                values.computeIfAbsent(key(dimension, null), key -> new ArrayList<>()).add(value);
+                if (result.getPlayerName() != null) {
+                    values.computeIfAbsent(key(dimension, result.getPlayerName()), key -> new ArrayList<>()).add(value);
+                }
+            }
+        }
+        values.forEach((key, batch) -> sketches.compute(key, (sketchKey, held) -> {
+            Held updated = held != null ? held : load(key).orElseGet(() -> new Held(new QuantileSketch(k)));
+            for (int value : batch) {
+                updated.sketch.update(value);
+            }
+            updated.dirty = true;
+            return updated;
+        }));
+    }
+
+    /**
+     * Approximate values at the given fractions, empty if nothing has been recorded
+     */
+    public Optional<ScoreDistribution> distribution(Dimension dimension, String playerName, List<Double> fractions) {
+        ScoreDistribution[] distribution = new ScoreDistribution[1];
+        read(key(dimension, playerName), sketch -> {
+            Map<Double, Integer> quantiles = new LinkedHashMap<>();
+            for (double fraction : fractions) {
+                quantiles.put(fraction, sketch.quantile(fraction));
+            }
+            distribution[0] = new ScoreDistribution(dimension, playerName, sketch.count(), quantiles);
+        });
+        return Optional.ofNullable(distribution[0]);
+    }
+
+    /**
+     * Where value falls among the recorded values, empty if nothing has been recorded
+     */
+    public Optional<ScoreRank> rank(Dimension dimension, String playerName, int value) {
+        ScoreRank[] rank = new ScoreRank[1];
+        read(key(dimension, playerName), sketch -> rank[0] = new ScoreRank(dimension, playerName, value, sketch.count(),
+                sketch.rank(value, false), 1.0 - sketch.rank(value, true)));
+        return Optional.ofNullable(rank[0]);
+    }
+
+    /**
+     * Write changed sketches to score_sketch, then evict flushed player sketches over max-cached
+     */
+    @Scheduled(fixedDelayString = "${game.results.sketches.flush-ms:60000}")
+    @PreDestroy
+    public void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (String key : sketches.keySet()) {
+            sketches.computeIfPresent(key, (sketchKey, held) -> {
+                if (held.dirty) {
+                    rows.add(new Object[]{key, held.sketch.toBytes(), now});
+                    held.dirty = false;
+                }
+                return held;
+            });
+        }
+        try {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT, rows);
+            }
+        } catch (RuntimeException e) {
+            // Keep them dirty for the next flush, they have only been updated in memory
+            for (Object[] row : rows) {
+                sketches.computeIfPresent((String) row[0], (sketchKey, held) -> {
+                    held.dirty = true;
+                    return held;
+                });
+            }
+            System.err.println("Failed to flush " + rows.size() + " score sketches: " + e.getMessage());
+            return;
+        }
+
+        Iterator<String> keys = sketches.keySet().iterator();
+        while (sketches.size() > maxCached && keys.hasNext()) {
+            String key = keys.next();
+            if (key.startsWith("player:")) {
+                sketches.computeIfPresent(key, (sketchKey, held) -> held.dirty ? held : null);
+            }
+        }
+    }
+
+    /**
+     * Recompute every sketch from game_result, for results stored before sketches existed.
+     * Results committed while this runs may be missing or counted twice; run it when quiet.
+     *
+     * @return the number of sketches written
+     */
+    @Transactional
+    public int rebuild() {
+        Map<Dimension, QuantileSketch> global = new EnumMap<>(Dimension.class);
+        for (Dimension dimension : Dimension.values()) {
+            global.put(dimension, new QuantileSketch(k));
+        }
+        // Sorted by player so only one player's sketches are held at a time
+        Map<Dimension, QuantileSketch> player = new EnumMap<>(Dimension.class);
+        String[] currentPlayer = new String[1];
+        int[] written = new int[1];
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.update("delete from score_sketch");
+        sketches.clear();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "select player_name, player_score, computer_score, rounds from game_result order by player_name");
+            statement.setFetchSize(1000);
+            return statement;
+        }, row -> {
+            GameResult result = new GameResult();
+            result.setPlayerName(row.getString(1));
+            result.setPlayerScore(row.getInt(2));
+            result.setComputerScore(row.getInt(3));
+            result.setRounds(row.getInt(4));
+            if (!Objects.equals(result.getPlayerName(), currentPlayer[0])) {
+                written[0] += writeSketches(currentPlayer[0], player, now);
+                player.clear();
+                currentPlayer[0] = result.getPlayerName();
+            }
+            for (Dimension dimension : Dimension.values()) {
+                int value = dimension.value.applyAsInt(result);
+                global.get(dimension).update(value);
+                if (result.getPlayerName() != null) {
+                    player.computeIfAbsent(dimension, d -> new QuantileSketch(k)).update(value);
+                }
+            }
+        });
+        written[0] += writeSketches(currentPlayer[0], player, now);
+
+        Map<Dimension, QuantileSketch> nonEmpty = new EnumMap<>(Dimension.class);
+        global.forEach((dimension, sketch) -> {
+            if (sketch.count() > 0) {
+                nonEmpty.put(dimension, sketch);
+            }
+        });
+        written[0] += writeSketches(null, nonEmpty, now);
+        return written[0];
+    }
+
+    private int writeSketches(String playerName, Map<Dimension, QuantileSketch> byDimension, Timestamp now) {
+        List<Object[]> rows = new ArrayList<>();
+        byDimension.forEach((dimension, sketch) -> rows.add(new Object[]{key(dimension, playerName), sketch.toBytes(), now}));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, rows);
+        }
+        return rows.size();
+    }
+
+    private void read(String key, Consumer<QuantileSketch> reader) {
+        // computeIfAbsent stores nothing when the sketch is not in the database either
+        sketches.computeIfAbsent(key, sketchKey -> load(sketchKey).orElse(null));
+        sketches.computeIfPresent(key, (sketchKey, held) -> {
+            if (held.sketch.count() > 0) {
+                reader.accept(held.sketch);
+            }
+            return held;
+        });
+    }
+
+    private Optional<Held> load(String key) {
+        List<byte[]> data = jdbcTemplate.queryForList("select data from score_sketch where sketch_key = ?", byte[].class, key);
+        return data.isEmpty() ? Optional.empty() : Optional.of(new Held(QuantileSketch.fromBytes(data.get(0))));
+    }
+
+    private static String key(Dimension dimension, String playerName) {
+        return playerName == null ? "global:" + dimension : "player:" + dimension + ":" + playerName;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.gameresult;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ScoreRank {
+    private ScoreDistributions.Dimension dimension;
+    private String playerName; // null for all games
+    private int value;
+    private long count;
+    private double fractionBelow; // approximate share of games with a lower value
+    private double fractionAbove; // with a higher value; for scores, the games this one beats
+}
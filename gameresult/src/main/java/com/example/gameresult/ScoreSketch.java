@@ -0,0 +1,28 @@
+package com.example.gameresult;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last flushed state of one quantile sketch, see ScoreDistributions
+ */
+@Entity
+@Table(name = "score_sketch")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ScoreSketch {
+    @Id
+    private String sketchKey;
+
+    private byte[] data; // QuantileSketch.toBytes()
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,84 @@
+package com.example.gameresult.config;
+
+import com.example.gameresult.GameResultBatchConsumer;
+import com.example.gameresult.GameResultConsumer;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.listener.MethodRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * One listener container per result shard, each with a single consumer so a player's
+ * results are saved in the order they were published. The consumers' own listeners on
+ * game-result-queue stay up to drain anything sent before sharding was switched on.
+ */
+@Configuration
+public class GameResultShardListeners implements RabbitListenerConfigurer {
+
+    private final int shards;
+    private final ObjectProvider<GameResultBatchConsumer> batchConsumer;
+    private final ObjectProvider<GameResultConsumer> singleConsumer;
+    private final SimpleRabbitListenerContainerFactory batchListenerContainerFactory;
+    private final SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory;
+
+    public GameResultShardListeners(@Value("${game.results.shards:0}") int shards,
+                                    ObjectProvider<GameResultBatchConsumer> batchConsumer,
+                                    ObjectProvider<GameResultConsumer> singleConsumer,
+                                    @Qualifier("batchListenerContainerFactory") SimpleRabbitListenerContainerFactory batchListenerContainerFactory,
+                                    @Qualifier("rabbitListenerContainerFactory") SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory) {
+        this.shards = shards;
+        this.batchConsumer = batchConsumer;
+        this.singleConsumer = singleConsumer;
+        this.batchListenerContainerFactory = batchListenerContainerFactory;
+        this.rabbitListenerContainerFactory = rabbitListenerContainerFactory;
+    }
+
+    @Override
+    public void configureRabbitListeners(RabbitListenerEndpointRegistrar registrar) {
+        if (shards <= 0) {
+            return;
+        }
+
+        Object bean;
+        Method method;
+        SimpleRabbitListenerContainerFactory factory;
+        try {
+            GameResultBatchConsumer batch = batchConsumer.getIfAvailable();
+            if (batch != null) {
+                bean = batch;
+                method = GameResultBatchConsumer.class.getMethod("receiveGameResults", List.class);
+                factory = batchListenerContainerFactory;
+            } else {
+                bean = singleConsumer.getObject();
+                method = GameResultConsumer.class.getMethod("receiveGameResult", Message.class);
+                factory = rabbitListenerContainerFactory;
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Game result listener method not found", e);
+        }
+
+        DefaultMessageHandlerMethodFactory handlerMethodFactory = new DefaultMessageHandlerMethodFactory();
+        handlerMethodFactory.afterPropertiesSet();
+
+        for (int shard = 0; shard < shards; shard++) {
+            MethodRabbitListenerEndpoint endpoint = new MethodRabbitListenerEndpoint();
+            endpoint.setId("game-result-shard-" + shard);
+            endpoint.setQueueNames(RabbitMQConfig.shardQueue(shard));
+            endpoint.setBean(bean);
+            endpoint.setMethod(method);
+            endpoint.setMessageHandlerMethodFactory(handlerMethodFactory);
+            endpoint.setBatchListener(factory == batchListenerContainerFactory);
+            endpoint.setConcurrency("1-1");
+            registrar.registerEndpoint(endpoint, factory);
+        }
+    }
+}
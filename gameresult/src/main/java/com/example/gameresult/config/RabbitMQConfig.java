@@ -1,23 +1,135 @@
 package com.example.gameresult.config;
 
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 public class RabbitMQConfig {
 
     public static final String GAME_RESULT_QUEUE = "game-result-queue";
+    public static final String GAME_RESULT_EXCHANGE = "game-result-exchange";
+    public static final String GAME_RESULT_DLQ = "game-result-dlq";
+
+    /**
+     * Shard of a player's results. String.hashCode is fixed by the language spec, so
+     * producer and consumer agree on it without sharing code.
+     */
+    public static int shardFor(String playerName, int shards) {
+        return playerName == null ? 0 : Math.floorMod(playerName.hashCode(), shards);
+    }
+
+    public static String shardQueue(int shard) {
+        return GAME_RESULT_QUEUE + ".shard-" + shard;
+    }
+
+    public static String shardRoutingKey(int shard) {
+        return "shard." + shard;
+    }
+
+    public static String retryExchange(int tier) {
+        return "game-result-retry." + tier;
+    }
 
     @Bean
     public Queue gameResultQueue() {
         return new Queue(GAME_RESULT_QUEUE, true);
     }
+
+    /**
+     * With game.results.shards > 0 results go through a direct exchange to one queue per
+     * shard, keyed by player name, so each player's results stay in order. 0 keeps the
+     * single queue. Producer and consumer must use the same shard count.
+     */
+    @Bean
+    public Declarables gameResultShards(@Value("${game.results.shards:0}") int shards) {
+        List<Declarable> declarables = new ArrayList<>();
+        if (shards > 0) {
+            DirectExchange exchange = new DirectExchange(GAME_RESULT_EXCHANGE, true, false);
+            declarables.add(exchange);
+            for (int shard = 0; shard < shards; shard++) {
+                Queue queue = new Queue(shardQueue(shard), true);
+                declarables.add(queue);
+                declarables.add(BindingBuilder.bind(queue).to(exchange).with(shardRoutingKey(shard)));
+            }
+        }
+        return new Declarables(declarables);
+    }
+
+    /**
+     * Delayed retry tiers. Each tier is a fanout exchange with one queue whose TTL is the
+     * tier's delay; expired messages are dead-lettered to the default exchange with their
+     * original routing key, which is the name of the queue they failed on.
+     */
+    @Bean
+    public Declarables gameResultRetryTiers(@Value("${game.results.retry.delays-ms:1000,10000,60000}") long[] delays) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (int tier = 0; tier < delays.length; tier++) {
+            FanoutExchange exchange = new FanoutExchange(retryExchange(tier), true, false);
+            Queue queue = QueueBuilder.durable(retryExchange(tier))
+                    .ttl((int) delays[tier])
+                    .deadLetterExchange("")
+                    .build();
+            declarables.add(exchange);
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(exchange));
+        }
+        declarables.add(new Queue(GAME_RESULT_DLQ, true));
+        return new Declarables(declarables);
+    }
+
+    /**
+     * Picks the converter by content type: application/x-game-result is the compact binary
+     * form, anything else is read as JSON so producers can switch over one at a time.
+     */
+    @Bean
+    public MessageConverter messageConverter() {
+        Jackson2JsonMessageConverter json = new Jackson2JsonMessageConverter();
+        ContentTypeDelegatingMessageConverter converter = new ContentTypeDelegatingMessageConverter(json);
+        converter.addDelegate(GameResultBinaryConverter.CONTENT_TYPE, new GameResultBinaryConverter(json));
+        return converter;
+    }
+
+    /**
+     * Listener factory that hands results over in batches: up to batch-size messages, or
+     * whatever arrived before receive-timeout-ms passed without a new one. The whole batch
+     * is acked together. Consumers are added up to max-concurrency while the queue keeps
+     * them busy and removed again when it drains.
+     */
     @Bean
-    public Jackson2JsonMessageConverter messageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${game.results.consumer.batch-size:100}") int batchSize,
+            @Value("${game.results.consumer.receive-timeout-ms:200}") long receiveTimeoutMillis,
+            @Value("${game.results.consumer.prefetch:250}") int prefetch,
+            @Value("${game.results.consumer.concurrency:1}") int concurrency,
+            @Value("${game.results.consumer.max-concurrency:4}") int maxConcurrency) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeoutMillis);
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(Math.max(concurrency, maxConcurrency));
+        return factory;
     }
 }
@@ -0,0 +1,124 @@
+package com.example.gameresult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BatchResultIngestTest {
+
+    private static final LocalDateTime GAME_DATE = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    enum Format {
+        JSON_ARRAY, NDJSON;
+
+        String body(String... elements) {
+            return this == JSON_ARRAY ? "[" + String.join(",", elements) + "]" : String.join("\n", elements);
+        }
+    }
+
+    private final GameResultService gameResultService = mock(GameResultService.class);
+    private final Set<Long> storedGameIds = new HashSet<>();
+    private BatchResultIngest batchResultIngest;
+
+    @BeforeEach
+    void setUp() {
+        when(gameResultService.newGameResult(any(), anyString(), anyInt(), anyInt(), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    GameResult result = new GameResult();
+                    result.setGameId(invocation.getArgument(0));
+                    result.setPlayerName(invocation.getArgument(1));
+                    result.setGameDate(invocation.getArgument(5));
+                    return result;
+                });
+        // Stores each game ID once, like the game_result_key claim
+        when(gameResultService.importGameResults(anyList())).thenAnswer(invocation -> {
+            List<GameResult> results = invocation.getArgument(0);
+            return results.stream()
+                    .filter(result -> result.getGameId() == null || storedGameIds.add(result.getGameId()))
+                    .toList();
+        });
+        batchResultIngest = new BatchResultIngest(gameResultService, mock(GameResultPartitions.class),
+                new ObjectMapper().findAndRegisterModules(), 3);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Format.class)
+    void ingest_ShouldCountAcceptedDuplicatesAndRejectedPerChunk(Format format) {
+        // Arrange
+        String body = format.body(result(1L, "alice"), result(2L, "bob"), result(3L, " "),
+                result(1L, "alice"), result(4L, "carol"), result(5L, "dave").replace("\"rounds\":3", "\"rounds\":-1"),
+                result(6L, "erin"));
+
+        // Act
+        BatchIngestResponse response = ingest(body);
+
+        // Assert
+        assertNull(response.getError());
+        assertEquals("0:2/0/1 1:1/1/1 2:1/0/0", chunks(response));
+        assertEquals(4, response.getAccepted());
+        assertEquals(1, response.getDuplicates());
+        assertEquals(2, response.getRejected());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Format.class)
+    void ingest_ShouldRejectWellFormedElementsThatAreNotResults(Format format) {
+        // Arrange
+        String body = format.body(result(1L, "alice"), "\"not a result\"", "[1, 2]",
+                result(2L, "bob"), "{\"playerName\": {\"first\": \"carol\"}}");
+
+        // Act
+        BatchIngestResponse response = ingest(body);
+
+        // Assert
+        assertNull(response.getError());
+        assertEquals("0:1/0/2 1:1/0/1", chunks(response));
+        assertEquals(Set.of(1L, 2L), storedGameIds);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Format.class)
+    void ingest_WithMalformedJson_ShouldStopAndKeepEarlierChunks(Format format) {
+        // Arrange
+        String body = format.body(result(1L, "alice"), result(2L, "bob"), result(3L, "carol"),
+                result(4L, "dave"), "{\"playerName\": \"erin\", \"playerScore\": }", result(5L, "frank"));
+
+        // Act
+        BatchIngestResponse response = ingest(body);
+
+        // Assert
+        assertNotNull(response.getError());
+        assertTrue(response.getError().startsWith("Could not read results after chunk 1"), response.getError());
+        assertEquals("0:3/0/0 1:1/0/0", chunks(response));
+        assertEquals(Set.of(1L, 2L, 3L, 4L), storedGameIds);
+    }
+
+    private BatchIngestResponse ingest(String body) {
+        return batchResultIngest.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String result(Long gameId, String playerName) {
+        return "{\"gameId\":" + gameId + ",\"playerName\":\"" + playerName + "\",\"playerScore\":10,"
+                + "\"computerScore\":20,\"rounds\":3,\"gameDate\":\"" + GAME_DATE + "\"}";
+    }
+
+    /** Each chunk as "chunk:accepted/duplicates/rejected" */
+    private static String chunks(BatchIngestResponse response) {
+        return response.getChunks().stream()
+                .map(chunk -> chunk.getChunk() + ":" + chunk.getAccepted() + "/" + chunk.getDuplicates() + "/" + chunk.getRejected())
+                .collect(Collectors.joining(" "));
+    }
+}
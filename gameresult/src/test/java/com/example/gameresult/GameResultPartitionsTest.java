@@ -0,0 +1,20 @@
+package com.example.gameresult;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameResultPartitionsTest {
+
+    @Test
+    void ensurePartition_ForMonthPastRetention_ShouldRejectBeforeTouchingTheDatabase() {
+        // Arrange: no database, a month that the next archive run would detach
+        GameResultPartitions partitions = new GameResultPartitions(null, null, null, null, "archive", 12, 2);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> partitions.ensurePartition(YearMonth.now().minusMonths(13)));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.gameresult;
+
+import com.example.gameresult.config.RabbitMQConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class GameResultRetriesTest {
+
+    private static final long[] DELAYS = {1000, 10000, 60000};
+    private static final String SHARD_QUEUE = RabbitMQConfig.shardQueue(2);
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GameResultRetries retries = new GameResultRetries(rabbitTemplate, null, meterRegistry, DELAYS);
+
+    @Test
+    void retryOrDeadLetter_OnFirstFailure_ShouldSendToFirstTierKeyedByConsumerQueue() {
+        // Arrange
+        Message message = message(null);
+
+        // Act
+        retries.retryOrDeadLetter(message, new RuntimeException("database down"));
+
+        // Assert
+        verify(rabbitTemplate).send(RabbitMQConfig.retryExchange(0), SHARD_QUEUE, message);
+        assertEquals(1, (Integer) message.getMessageProperties().getHeader(GameResultRetries.RETRY_COUNT_HEADER));
+        assertEquals("database down", message.getMessageProperties().getHeader(GameResultRetries.ERROR_HEADER));
+        assertEquals(1.0, retried(0));
+        assertEquals(0.0, retried(1));
+    }
+
+    @Test
+    void retryOrDeadLetter_AfterOneRetry_ShouldSendToNextTier() {
+        // Arrange
+        Message message = message(1);
+
+        // Act
+        retries.retryOrDeadLetter(message, new RuntimeException("timeout"));
+
+        // Assert
+        verify(rabbitTemplate).send(RabbitMQConfig.retryExchange(1), SHARD_QUEUE, message);
+        assertEquals(2, (Integer) message.getMessageProperties().getHeader(GameResultRetries.RETRY_COUNT_HEADER));
+        assertEquals(0.0, retried(0));
+        assertEquals(1.0, retried(1));
+        assertEquals(0.0, deadLettered("retries-exhausted"));
+    }
+
+    @Test
+    void retryOrDeadLetter_AfterLastTier_ShouldDeadLetterWithOriginalQueue() {
+        // Arrange
+        Message message = message(DELAYS.length);
+
+        // Act
+        retries.retryOrDeadLetter(message, new RuntimeException("still failing"));
+
+        // Assert
+        verify(rabbitTemplate).send("", RabbitMQConfig.GAME_RESULT_DLQ, message);
+        verify(rabbitTemplate, never()).send(startsWith("game-result-retry."), anyString(), any(Message.class));
+        assertEquals(SHARD_QUEUE, message.getMessageProperties().getHeader(GameResultRetries.ORIGINAL_QUEUE_HEADER));
+        assertEquals("still failing", message.getMessageProperties().getHeader(GameResultRetries.ERROR_HEADER));
+        assertEquals(DELAYS.length, (Integer) message.getMessageProperties().getHeader(GameResultRetries.RETRY_COUNT_HEADER));
+        assertEquals(1.0, deadLettered("retries-exhausted"));
+        assertEquals(0.0, retried(DELAYS.length - 1));
+    }
+
+    @Test
+    void retryOrDeadLetter_WithoutConsumerQueue_ShouldUseMainQueue() {
+        Message message = new Message(new byte[0], new MessageProperties());
+
+        retries.retryOrDeadLetter(message, new RuntimeException("down"));
+
+        verify(rabbitTemplate).send(RabbitMQConfig.retryExchange(0), RabbitMQConfig.GAME_RESULT_QUEUE, message);
+    }
+
+    @Test
+    void reject_ShouldDeadLetterWithoutRetrying() {
+        Message message = message(null);
+
+        retries.reject(message, new RuntimeException("not JSON"));
+
+        verify(rabbitTemplate).send("", RabbitMQConfig.GAME_RESULT_DLQ, message);
+        assertEquals(1.0, deadLettered("unreadable"));
+        assertNull(message.getMessageProperties().getHeader(GameResultRetries.RETRY_COUNT_HEADER));
+    }
+
+    @Test
+    void retryTierQueues_ShouldExpireBackToTheDefaultExchangeUnderTheOriginalKey() {
+        // Act
+        var declarables = new RabbitMQConfig().gameResultRetryTiers(DELAYS).getDeclarablesByType(Queue.class);
+
+        // Assert: the routing key, the consumer queue's name, is kept when the message expires
+        for (int tier = 0; tier < DELAYS.length; tier++) {
+            String name = RabbitMQConfig.retryExchange(tier);
+            Map<String, Object> arguments = declarables.stream().filter(queue -> queue.getName().equals(name))
+                    .findFirst().orElseThrow().getArguments();
+            assertEquals((int) DELAYS[tier], arguments.get("x-message-ttl"));
+            assertEquals("", arguments.get("x-dead-letter-exchange"));
+            assertFalse(arguments.containsKey("x-dead-letter-routing-key"));
+        }
+    }
+
+    private static Message message(Integer retryCount) {
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue(SHARD_QUEUE);
+        if (retryCount != null) {
+            properties.setHeader(GameResultRetries.RETRY_COUNT_HEADER, retryCount);
+        }
+        return new Message("{}".getBytes(), properties);
+    }
+
+    private double retried(int tier) {
+        return meterRegistry.get("game.results.ingest.retried").tag("tier", String.valueOf(tier)).counter().count();
+    }
+
+    private double deadLettered(String reason) {
+        return meterRegistry.get("game.results.ingest.dead-lettered").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.gameresult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * The idempotent save path against H2: the in-memory RecentGameIds filter, the game_result_key
+ * claim and the matching of returned rows to results. Concurrent claims of the same game ID
+ * need Postgres row locks and are not covered.
+ */
+class GameResultServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private RecentGameIds recentGameIds;
+    private ScoreDistributions scoreDistributions;
+    private GameResultService gameResultService;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = PostgresOnH2.dataSource("game-results");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop table if exists game_result");
+        jdbcTemplate.execute("drop table if exists game_result_key");
+        jdbcTemplate.execute("""
+                create table game_result (
+                    id bigint generated by default as identity primary key,
+                    game_id bigint,
+                    player_name varchar(255),
+                    player_score int,
+                    computer_score int,
+                    winner varchar(255),
+                    game_date timestamp,
+                    rounds int)
+                """);
+        jdbcTemplate.execute("create table game_result_key (game_id bigint primary key)");
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        meterRegistry = new SimpleMeterRegistry();
+        recentGameIds = new RecentGameIds(100);
+        scoreDistributions = mock(ScoreDistributions.class);
+        gameResultService = service(recentGameIds);
+    }
+
+    @Test
+    void saveGameResults_WithDuplicatesInOneBatch_ShouldInsertEachGameOnce() {
+        // Arrange
+        List<GameResult> batch = List.of(result(1L, "alice"), result(2L, "bob"), result(1L, "carol"),
+                result(null, "dave"), result(null, "erin"));
+
+        // Act
+        List<GameResult> inserted = save(batch);
+
+        // Assert
+        assertEquals(List.of("alice", "bob", "dave", "erin"), inserted.stream().map(GameResult::getPlayerName).toList());
+        assertStoredWithTheirIds(inserted);
+        assertEquals(4, count("game_result"));
+        assertEquals(1.0, duplicates("memory"));
+    }
+
+    @Test
+    void saveGameResults_WithDuplicatesAcrossBatches_ShouldSkipStoredGames() {
+        // Arrange
+        save(List.of(result(1L, "alice"), result(2L, "bob")));
+
+        // Act: game 2 is caught in memory, game 1 by game_result_key after the memory is lost
+        List<GameResult> second = save(List.of(result(2L, "bob"), result(3L, "carol")));
+        List<GameResult> third = save(service(new RecentGameIds(100)), List.of(result(1L, "alice"), result(4L, "dave")));
+
+        // Assert
+        assertEquals(List.of(3L), second.stream().map(GameResult::getGameId).toList());
+        assertEquals(List.of(4L), third.stream().map(GameResult::getGameId).toList());
+        assertStoredWithTheirIds(third);
+        assertEquals(4, count("game_result"));
+        assertEquals(1.0, duplicates("memory"));
+        assertEquals(1.0, duplicates("database"));
+    }
+
+    @Test
+    void saveGameResults_WhenRolledBack_ShouldNotRememberGameIds() {
+        // Arrange
+        transactionTemplate.executeWithoutResult(status -> {
+            gameResultService.saveGameResults(List.of(result(5L, "alice")));
+            status.setRollbackOnly();
+        });
+
+        // Act
+        List<GameResult> retried = save(List.of(result(5L, "alice")));
+
+        // Assert
+        assertFalse(retried.isEmpty());
+        assertEquals(1, count("game_result"));
+        assertEquals(1, count("game_result_key"));
+        assertTrue(recentGameIds.contains(5L));
+        verify(scoreDistributions, times(1)).record(anyList());
+    }
+
+    @Test
+    void saveGameResult_ForStoredGame_ShouldReturnTheStoredResult() {
+        // Arrange
+        GameResult first = transactionTemplate.execute(status -> gameResultService.saveGameResult(7L, "alice", 10, 20, 3));
+
+        // Act
+        GameResult again = transactionTemplate.execute(status -> gameResultService.saveGameResult(7L, "alice", 30, 5, 4));
+
+        // Assert
+        assertNotNull(first.getId());
+        assertEquals(first.getId(), again.getId());
+        assertEquals(10, again.getPlayerScore());
+        assertEquals("PLAYER", again.getWinner());
+        assertEquals(1, count("game_result"));
+    }
+
+    private GameResultService service(RecentGameIds recentGameIds) {
+        GameResultRepo gameResultRepo = mock(GameResultRepo.class);
+        when(gameResultRepo.findByGameId(anyLong())).thenAnswer(invocation -> findByGameId(invocation.getArgument(0)));
+        return new GameResultService(gameResultRepo, jdbcTemplate, recentGameIds, mock(PlayerStatsService.class),
+                mock(ResultRollupService.class), scoreDistributions, mock(RecentResults.class), new ObjectMapper(),
+                null, meterRegistry);
+    }
+
+    private List<GameResult> save(List<GameResult> results) {
+        return save(gameResultService, results);
+    }
+
+    private List<GameResult> save(GameResultService service, List<GameResult> results) {
+        return transactionTemplate.execute(status -> service.saveGameResults(results));
+    }
+
+    private Optional<GameResult> findByGameId(Long gameId) {
+        return jdbcTemplate.query("select id, player_name, player_score, computer_score, winner from game_result where game_id = ?",
+                (row, rowNum) -> {
+                    GameResult result = new GameResult();
+                    result.setId(row.getLong("id"));
+                    result.setGameId(gameId);
+                    result.setPlayerName(row.getString("player_name"));
+                    result.setPlayerScore(row.getInt("player_score"));
+                    result.setComputerScore(row.getInt("computer_score"));
+                    result.setWinner(row.getString("winner"));
+                    return result;
+                }, gameId).stream().findFirst();
+    }
+
+    private void assertStoredWithTheirIds(List<GameResult> inserted) {
+        for (GameResult result : inserted) {
+            Map<String, Object> row = jdbcTemplate.queryForMap(
+                    "select game_id, player_name from game_result where id = ?", result.getId());
+            assertEquals(result.getGameId(), row.get("game_id"));
+            assertEquals(result.getPlayerName(), row.get("player_name"));
+        }
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+    }
+
+    private double duplicates(String caughtBy) {
+        return meterRegistry.get("game.results.ingest.duplicates").tag("caught-by", caughtBy).counter().count();
+    }
+
+    private GameResult result(Long gameId, String playerName) {
+        return gameResultService.newGameResult(gameId, playerName, 10, 20, 3, NOW);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.gameresult;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeaderboardTest {
+
+    private final PlayerStatsRepo playerStatsRepo = mock(PlayerStatsRepo.class);
+    private final Leaderboard leaderboard = new Leaderboard(playerStatsRepo, 5);
+
+    @Test
+    void position_ShouldRankTiesByNameWithNeighbours() {
+        // Arrange
+        when(playerStatsRepo.findAll()).thenReturn(List.of(
+                stats("alice", 10, 4), stats("bob", 10, 7), stats("carol", 10, 4), stats("dave", 10, 1)));
+        leaderboard.load();
+
+        // Act
+        LeaderboardPosition position = leaderboard.position(Leaderboard.Metric.WINS, "carol", 1).orElseThrow();
+
+        // Assert
+        assertEquals(3, position.getRank());
+        assertEquals(4, position.getRankedPlayers());
+        assertEquals(List.of("alice", "carol", "dave"),
+                position.getNeighbours().stream().map(LeaderboardEntry::getPlayerName).toList());
+        assertEquals(List.of(2, 3, 4), position.getNeighbours().stream().map(LeaderboardEntry::getRank).toList());
+    }
+
+    @Test
+    void position_AfterReload_ShouldFollowChangedAndRemovedPlayers() {
+        // Arrange
+        when(playerStatsRepo.findAll()).thenReturn(List.of(
+                stats("alice", 10, 4), stats("bob", 10, 7), stats("carol", 10, 2)));
+        leaderboard.load();
+        when(playerStatsRepo.findAll()).thenReturn(List.of(stats("alice", 12, 9), stats("carol", 10, 2)));
+
+        // Act
+        leaderboard.load();
+
+        // Assert
+        assertEquals(1, leaderboard.position(Leaderboard.Metric.WINS, "alice", 0).orElseThrow().getRank());
+        assertEquals(2, leaderboard.position(Leaderboard.Metric.WINS, "carol", 0).orElseThrow().getRank());
+        assertTrue(leaderboard.position(Leaderboard.Metric.WINS, "bob", 0).isEmpty());
+    }
+
+    @Test
+    void position_ForWinRateBelowMinimumGames_ShouldBeEmpty() {
+        when(playerStatsRepo.findAll()).thenReturn(List.of(stats("alice", 4, 4), stats("bob", 5, 1)));
+        leaderboard.load();
+
+        assertTrue(leaderboard.position(Leaderboard.Metric.WIN_RATE, "alice", 0).isEmpty());
+        assertEquals(1, leaderboard.position(Leaderboard.Metric.WIN_RATE, "bob", 0).orElseThrow().getRank());
+    }
+
+    private static PlayerStats stats(String playerName, int games, int wins) {
+        PlayerStats stats = new PlayerStats();
+        stats.setPlayerName(playerName);
+        stats.setGames(games);
+        stats.setWins(wins);
+        stats.setLosses(games - wins);
+        stats.setBestScore(games);
+        return stats;
+    }
+}
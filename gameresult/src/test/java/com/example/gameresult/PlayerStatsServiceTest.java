@@ -0,0 +1,121 @@
+package com.example.gameresult;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerStatsServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private PlayerStatsService playerStatsService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:player-stats;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("drop table if exists game_result");
+        jdbcTemplate.execute("""
+                create table game_result (
+                    id bigint generated by default as identity primary key,
+                    player_name varchar(255),
+                    winner varchar(255),
+                    game_date timestamp)
+                """);
+        playerStatsService = new PlayerStatsService(null, jdbcTemplate, event -> { });
+    }
+
+    @Test
+    void currentStreak_ShouldCountLatestWinsAcrossPages() {
+        // Arrange: an old loss, then 250 wins, stored out of order
+        for (int i = 250; i >= 1; i--) {
+            store("alice", "PLAYER", START.plusHours(i));
+        }
+        store("alice", "COMPUTER", START);
+        store("bob", "COMPUTER", START.plusHours(300));
+
+        // Act & Assert
+        assertEquals(250, playerStatsService.currentStreak("alice"));
+    }
+
+    @Test
+    void currentStreak_ShouldIgnoreBackfilledOlderGames() {
+        // Arrange: two recent losses, then an older win uploaded later
+        store("alice", "COMPUTER", START.plusDays(10));
+        store("alice", "COMPUTER", START.plusDays(11));
+        store("alice", "PLAYER", START);
+
+        // Act & Assert
+        assertEquals(-2, playerStatsService.currentStreak("alice"));
+    }
+
+    @Test
+    void currentStreak_ShouldBeZeroAfterTieOrWithoutGames() {
+        store("alice", "PLAYER", START);
+        store("alice", "TIE", START.plusDays(1));
+
+        assertEquals(0, playerStatsService.currentStreak("alice"));
+        assertEquals(0, playerStatsService.currentStreak("nobody"));
+    }
+
+    @Test
+    void streakMerge_WinsOnWinningStreak_ShouldExtendIt() {
+        assertEquals(5, mergeStreak(3, "PLAYER", "PLAYER"));
+    }
+
+    @Test
+    void streakMerge_LossesOnWinningStreak_ShouldStartLosingStreak() {
+        assertEquals(-2, mergeStreak(3, "COMPUTER", "COMPUTER"));
+        assertEquals(2, mergeStreak(-4, "PLAYER", "PLAYER"));
+    }
+
+    @Test
+    void streakMerge_LossThenWin_ShouldKeepOnlyTheLastRun() {
+        assertEquals(1, mergeStreak(3, "COMPUTER", "PLAYER"));
+        assertEquals(-1, mergeStreak(3, "PLAYER", "COMPUTER"));
+    }
+
+    @Test
+    void streakMerge_TieInTheMiddle_ShouldRestartAfterTheTie() {
+        assertEquals(1, mergeStreak(3, "PLAYER", "TIE", "PLAYER"));
+        assertEquals(0, mergeStreak(3, "PLAYER", "TIE"));
+    }
+
+    @Test
+    void streakMerge_OnStoredZero_ShouldStartFromTheBatch() {
+        assertEquals(2, mergeStreak(0, "PLAYER", "PLAYER"));
+        assertEquals(-1, mergeStreak(0, "COMPUTER"));
+        assertEquals(0, mergeStreak(0, "TIE"));
+    }
+
+    /**
+     * The streak stored after applying one batch of results to a stored streak, through the
+     * same Delta and CASE expression the upsert uses (H2 has no "on conflict do update")
+     */
+    private int mergeStreak(int storedStreak, String... winners) {
+        PlayerStatsService.Delta delta = new PlayerStatsService.Delta();
+        for (String winner : winners) {
+            GameResult result = new GameResult();
+            result.setPlayerName("alice");
+            result.setWinner(winner);
+            delta.add(result);
+        }
+        Integer merged = jdbcTemplate.queryForObject("select " + PlayerStatsService.STREAK_MERGE
+                        + " from (select cast(? as int) as current_streak) player_stats,"
+                        + " (select cast(? as int) as current_streak) excluded",
+                Integer.class, delta.unbroken, storedStreak, delta.streak);
+        return merged;
+    }
+
+    private void store(String playerName, String winner, LocalDateTime gameDate) {
+        jdbcTemplate.update("insert into game_result (player_name, winner, game_date) values (?, ?, ?)",
+                playerName, winner, Timestamp.valueOf(gameDate));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.gameresult;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * H2 in PostgreSQL mode for tests of services that use Postgres-only statements. They are
+ * rewritten into H2 equivalents that give the same rows:
+ * <ul>
+ *     <li>"insert ... returning" runs as "select ... from final table (insert ...)", and an
+ *     ON CONFLICT DO NOTHING keeps no target, which H2 does not accept</li>
+ *     <li>"insert ... on conflict (key) do update set ..." runs as a MERGE with the new row
+ *     as "excluded"</li>
+ *     <li>date_trunc with a bound unit runs as a Java function</li>
+ *     <li>"lock table" does nothing, so tests can't cover concurrent writers</li>
+ * </ul>
+ * Everything else is passed to H2 unchanged.
+ */
+public final class PostgresOnH2 {
+
+    private static final Pattern INSERT_RETURNING = Pattern.compile(
+            "(insert .+?)(?: on conflict(?: \\([\\w, ]+\\))? do nothing)? returning (.+)");
+    private static final Pattern UPSERT = Pattern.compile(
+            "insert into (\\w+) \\(([\\w, ]+)\\) values \\((.+)\\) on conflict \\(([\\w, ]+)\\) do update set (.+)");
+    private static final Pattern LOCK_TABLE = Pattern.compile("lock table .+");
+
+    private PostgresOnH2() {
+    }
+
+    static DataSource dataSource(String name) {
+        DataSource h2 = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        new JdbcTemplate(h2).execute("create alias if not exists pg_date_trunc for \""
+                + PostgresOnH2.class.getName() + ".dateTrunc\"");
+        return new DelegatingDataSource(h2) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return translating(super.getConnection());
+            }
+        };
+    }
+
+    static String translate(String sql) {
+        String statement = sql.replaceAll("\\s+", " ").trim().replace("date_trunc(", "pg_date_trunc(");
+        if (LOCK_TABLE.matcher(statement).matches()) {
+            return "select 1";
+        }
+        Matcher upsert = UPSERT.matcher(statement);
+        if (upsert.matches()) {
+            String table = upsert.group(1);
+            List<String> columns = split(upsert.group(2));
+            String matchKeys = split(upsert.group(4)).stream()
+                    .map(key -> table + "." + key + " = excluded." + key)
+                    .collect(Collectors.joining(" and "));
+            return "merge into " + table + " using (values (" + upsert.group(3) + ")) excluded (" + String.join(", ", columns) + ")"
+                    + " on " + matchKeys
+                    + " when matched then update set " + upsert.group(5)
+                    + " when not matched then insert (" + String.join(", ", columns) + ") values ("
+                    + columns.stream().map(column -> "excluded." + column).collect(Collectors.joining(", ")) + ")";
+        }
+        Matcher insert = INSERT_RETURNING.matcher(statement);
+        if (insert.matches()) {
+            String conflict = statement.contains(" on conflict ") ? " on conflict do nothing" : "";
+            return "select " + insert.group(2) + " from final table (" + insert.group(1) + conflict + ")";
+        }
+        return statement;
+    }
+
+    /** Postgres date_trunc for the units the services use */
+    public static Timestamp dateTrunc(String unit, Timestamp value) {
+        ChronoUnit truncateTo = switch (unit) {
+            case "hour" -> ChronoUnit.HOURS;
+            case "day" -> ChronoUnit.DAYS;
+            default -> throw new IllegalArgumentException("Unsupported date_trunc unit: " + unit);
+        };
+        return value == null ? null : Timestamp.valueOf(value.toLocalDateTime().truncatedTo(truncateTo));
+    }
+
+    private static List<String> split(String names) {
+        return Arrays.stream(names.split(",")).map(String::trim).toList();
+    }
+
+    private static Connection translating(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement") && args[0] instanceof String sql) {
+                        args[0] = translate(sql);
+                    }
+                    Object result = invoke(method, connection, args);
+                    return result instanceof Statement statement && method.getName().equals("createStatement")
+                            ? translating(statement)
+                            : result;
+                });
+    }
+
+    private static Statement translating(Statement statement) {
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{Statement.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute") && args != null && args.length > 0 && args[0] instanceof String sql) {
+                        args[0] = translate(sql);
+                    }
+                    return invoke(method, statement, args);
+                });
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
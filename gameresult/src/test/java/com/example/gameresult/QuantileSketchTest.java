@@ -0,0 +1,141 @@
+package com.example.gameresult;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    private static final int K = 200;
+    private static final int N = 100_000;
+    /** Documented bound is about 3.3/k over all percentiles, with a little room for randomness */
+    private static final double MAX_RANK_ERROR = 4.0 / K;
+
+    /** -N/2 .. N/2 - 1 in random order, so the exact rank of v is (v + N/2) / N */
+    private static int[] shuffledRange(long seed) {
+        int[] values = new int[N];
+        for (int i = 0; i < N; i++) {
+            values[i] = i - N / 2;
+        }
+        Random random = new Random(seed);
+        for (int i = N - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+        return values;
+    }
+
+    private static void assertRanksWithinBound(QuantileSketch sketch) {
+        for (int percent = 0; percent <= 100; percent++) {
+            int value = Math.min(N / 2 - 1, -N / 2 + percent * (N / 100));
+            double exact = (double) (value + N / 2) / N;
+            double error = Math.abs(sketch.rank(value, false) - exact);
+            assertTrue(error <= MAX_RANK_ERROR, "rank of " + value + " off by " + error);
+        }
+    }
+
+    @Test
+    void rank_ShouldStayWithinErrorBound() {
+        // Arrange
+        QuantileSketch sketch = new QuantileSketch(K);
+
+        // Act
+        for (int value : shuffledRange(1)) {
+            sketch.update(value);
+        }
+
+        // Assert
+        assertEquals(N, sketch.count());
+        assertRanksWithinBound(sketch);
+        assertEquals(-N / 2, sketch.quantile(0.0));
+        assertEquals(N / 2 - 1, sketch.quantile(1.0));
+        assertEquals(0, sketch.quantile(0.5), N * MAX_RANK_ERROR);
+    }
+
+    @Test
+    void merge_ShouldMatchSketchOfCombinedStream() {
+        // Arrange: the same stream split across two sketches
+        int[] values = shuffledRange(2);
+        QuantileSketch first = new QuantileSketch(K);
+        QuantileSketch second = new QuantileSketch(K);
+        QuantileSketch combined = new QuantileSketch(K);
+        for (int i = 0; i < N; i++) {
+            (i < N / 3 ? first : second).update(values[i]);
+            combined.update(values[i]);
+        }
+
+        // Act
+        first.merge(second);
+
+        // Assert
+        assertEquals(combined.count(), first.count());
+        assertEquals(combined.quantile(0.0), first.quantile(0.0));
+        assertEquals(combined.quantile(1.0), first.quantile(1.0));
+        assertRanksWithinBound(first);
+        for (int percent = 5; percent < 100; percent += 5) {
+            double q = percent / 100.0;
+            assertEquals(combined.quantile(q), first.quantile(q), 2 * N * MAX_RANK_ERROR, "quantile " + q);
+        }
+    }
+
+    @Test
+    void fromBytes_ShouldRestoreSameAnswers() {
+        // Arrange
+        QuantileSketch sketch = new QuantileSketch(K);
+        for (int value : shuffledRange(3)) {
+            sketch.update(value);
+        }
+
+        // Act
+        byte[] bytes = sketch.toBytes();
+        QuantileSketch restored = QuantileSketch.fromBytes(bytes);
+
+        // Assert
+        assertArrayEquals(bytes, restored.toBytes());
+        assertEquals(sketch.count(), restored.count());
+        for (int percent = 0; percent <= 100; percent++) {
+            double q = percent / 100.0;
+            assertEquals(sketch.quantile(q), restored.quantile(q));
+            int value = -N / 2 + percent * (N / 100);
+            assertEquals(sketch.rank(value, true), restored.rank(value, true));
+        }
+        // Bounded size however many values were seen
+        assertTrue(bytes.length < 3 * K * Integer.BYTES + 100, bytes.length + " bytes");
+    }
+
+    @Test
+    void fromBytes_ShouldRejectForeignBytes() {
+        assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromBytes(new byte[]{9, 0, 0}));
+        byte[] truncated = Arrays.copyOf(new QuantileSketch(K).toBytes(), 10);
+        assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromBytes(truncated));
+    }
+
+    @Test
+    void negativeScores_ShouldBeRankedBelowPositiveOnes() {
+        // Arrange: scores -10..50 as in real games, each value equally often
+        QuantileSketch sketch = new QuantileSketch(K);
+        Random random = new Random(4);
+        for (int i = 0; i < N; i++) {
+            sketch.update(random.nextInt(61) - 10);
+        }
+
+        // Act & Assert
+        assertEquals(-10, sketch.quantile(0.0));
+        assertEquals(50, sketch.quantile(1.0));
+        assertEquals(0.0, sketch.rank(-10, false));
+        assertEquals(10.0 / 61, sketch.rank(0, false), MAX_RANK_ERROR);
+        assertEquals(11.0 / 61, sketch.rank(0, true), MAX_RANK_ERROR);
+        assertEquals(20, sketch.quantile(0.5), 1);
+        assertTrue(sketch.quantile(0.1) < 0);
+    }
+
+    @Test
+    void constructor_ShouldRejectTinyK() {
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(4));
+    }
+}
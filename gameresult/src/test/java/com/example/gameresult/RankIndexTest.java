@@ -0,0 +1,62 @@
+package com.example.gameresult;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankIndexTest {
+
+    @Test
+    void countBefore_ShouldMatchSortedSetThroughAddsAndRemoves() {
+        // Arrange
+        Random random = new Random(7);
+        RankIndex<Integer> index = new RankIndex<>();
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        // Act & Assert
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(2_000) - 1_000;
+            if (expected.add(key)) {
+                index.add(key);
+            } else if (random.nextBoolean()) {
+                expected.remove(key);
+                index.remove(key);
+            }
+            int probe = random.nextInt(2_200) - 1_100;
+            assertEquals(expected.headSet(probe).size(), index.countBefore(probe), "keys before " + probe);
+        }
+        assertEquals(expected.size(), index.size());
+    }
+
+    @Test
+    void countBefore_ShouldGiveEachKeyItsPosition() {
+        // Arrange
+        RankIndex<String> index = new RankIndex<>();
+        List<String> names = new ArrayList<>(List.of("dave", "alice", "carol", "bob", "erin"));
+        names.forEach(index::add);
+
+        // Act
+        index.remove("carol");
+
+        // Assert
+        assertEquals(0, index.countBefore("alice"));
+        assertEquals(1, index.countBefore("bob"));
+        assertEquals(2, index.countBefore("carol"));
+        assertEquals(2, index.countBefore("dave"));
+        assertEquals(3, index.countBefore("erin"));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void remove_WhenKeyMissing_ShouldLeaveIndexUnchanged() {
+        RankIndex<Integer> index = new RankIndex<>();
+        index.add(1);
+        index.remove(2);
+        assertEquals(1, index.size());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.gameresult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentResultsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private final RecentResults recentResults = new RecentResults(null, new ObjectMapper(), 4);
+
+    @Test
+    void appendIfNewest_ShouldSkipResultsOlderThanTheNewest() {
+        // Arrange
+        recentResults.append(result(1, NOW));
+
+        // Act
+        recentResults.appendIfNewest(result(2, NOW.minusYears(2)));
+        recentResults.appendIfNewest(result(3, NOW.plusMinutes(1)));
+
+        // Assert
+        List<GameResult> latest = recentResults.latest(4);
+        assertEquals(List.of(3L, 1L), latest.stream().map(GameResult::getId).toList());
+    }
+
+    @Test
+    void appendIfNewest_WhenEmpty_ShouldAppend() {
+        recentResults.appendIfNewest(result(1, NOW.minusYears(2)));
+        assertEquals(1, recentResults.latest(4).size());
+    }
+
+    private static GameResult result(long id, LocalDateTime gameDate) {
+        GameResult result = new GameResult();
+        result.setId(id);
+        result.setPlayerName("alice");
+        result.setWinner("PLAYER");
+        result.setGameDate(gameDate);
+        return result;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.gameresult;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rollups on H2 through PostgresOnH2, so the upsert runs as a MERGE and the recompute's
+ * table lock is not taken
+ */
+class ResultRollupServiceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 9, 0, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private ResultRollupService resultRollupService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(PostgresOnH2.dataSource("result-rollups"));
+        jdbcTemplate.execute("drop table if exists game_result");
+        jdbcTemplate.execute("drop table if exists result_rollup");
+        jdbcTemplate.execute("""
+                create table game_result (
+                    id bigint generated by default as identity primary key,
+                    game_id bigint,
+                    player_name varchar(255),
+                    player_score int,
+                    computer_score int,
+                    winner varchar(255),
+                    game_date timestamp,
+                    rounds int)
+                """);
+        jdbcTemplate.execute("""
+                create table result_rollup (
+                    granularity varchar(255),
+                    bucket_start timestamp,
+                    games bigint,
+                    player_wins bigint,
+                    computer_wins bigint,
+                    ties bigint,
+                    total_player_score bigint,
+                    total_computer_score bigint,
+                    total_rounds bigint,
+                    primary key (granularity, bucket_start))
+                """);
+        resultRollupService = new ResultRollupService(null, jdbcTemplate, 48);
+    }
+
+    @Test
+    void recordResults_ShouldAddToHourAndDayBucketsAcrossBatches() {
+        // Act: the same hour in two batches, and a game just after midnight
+        resultRollupService.recordResults(List.of(
+                store(DAY.plusHours(23).plusMinutes(10), 10, 20, 3),
+                store(DAY.plusHours(23).plusMinutes(50), 30, 5, 4)));
+        resultRollupService.recordResults(List.of(
+                store(DAY.plusHours(23).plusMinutes(59), 7, 7, 2),
+                store(DAY.plusDays(1).plusMinutes(5), 1, 2, 5)));
+
+        // Assert
+        Map<String, Object> lateHour = bucket(ResultRollupService.HOUR, DAY.plusHours(23));
+        assertEquals(3L, lateHour.get("games"));
+        assertEquals(1L, lateHour.get("player_wins"));
+        assertEquals(1L, lateHour.get("computer_wins"));
+        assertEquals(1L, lateHour.get("ties"));
+        assertEquals(47L, lateHour.get("total_player_score"));
+        assertEquals(9L, lateHour.get("total_rounds"));
+        assertEquals(3L, bucket(ResultRollupService.DAY, DAY).get("games"));
+        assertEquals(1L, bucket(ResultRollupService.DAY, DAY.plusDays(1)).get("games"));
+        assertEquals(1L, bucket(ResultRollupService.HOUR, DAY.plusDays(1)).get("games"));
+    }
+
+    @Test
+    void recompute_ShouldRebuildTheSameBucketsAsRecording() {
+        // Arrange: results over two days, recorded a few at a time
+        for (int i = 0; i < 60; i++) {
+            LocalDateTime gameDate = DAY.plusMinutes(47L * i);
+            resultRollupService.recordResults(List.of(store(gameDate, i % 7, i % 5, 1 + i % 4)));
+        }
+        List<Map<String, Object>> recorded = buckets();
+
+        // Act
+        int written = resultRollupService.recompute(DAY, DAY.plusDays(2));
+
+        // Assert
+        assertEquals(recorded.size(), written);
+        assertEquals(recorded, buckets());
+    }
+
+    @Test
+    void recompute_ShouldRepairDriftAndLeaveOtherDaysAlone() {
+        // Arrange
+        resultRollupService.recordResults(List.of(store(DAY.plusHours(5), 3, 4, 2)));
+        resultRollupService.recordResults(List.of(store(DAY.minusDays(3), 3, 4, 2)));
+        jdbcTemplate.update("update result_rollup set games = 99 where bucket_start >= ?", Timestamp.valueOf(DAY));
+        jdbcTemplate.update("insert into result_rollup values ('hour', ?, 5, 5, 0, 0, 0, 0, 0)", Timestamp.valueOf(DAY.plusHours(9)));
+
+        // Act
+        resultRollupService.recompute(DAY, DAY.plusDays(1));
+
+        // Assert
+        assertEquals(1L, bucket(ResultRollupService.HOUR, DAY.plusHours(5)).get("games"));
+        assertEquals(1L, bucket(ResultRollupService.DAY, DAY).get("games"));
+        assertTrue(jdbcTemplate.queryForList("select * from result_rollup where bucket_start = ?",
+                Timestamp.valueOf(DAY.plusHours(9))).isEmpty());
+        assertEquals(1L, bucket(ResultRollupService.DAY, DAY.minusDays(3)).get("games"));
+    }
+
+    private GameResult store(LocalDateTime gameDate, int playerScore, int computerScore, int rounds) {
+        GameResult result = new GameResult();
+        result.setPlayerName("alice");
+        result.setPlayerScore(playerScore);
+        result.setComputerScore(computerScore);
+        result.setRounds(rounds);
+        result.setGameDate(gameDate);
+        result.setWinner(playerScore < computerScore ? "PLAYER" : computerScore < playerScore ? "COMPUTER" : "TIE");
+        jdbcTemplate.update("insert into game_result (player_name, player_score, computer_score, winner, game_date, rounds) "
+                        + "values (?, ?, ?, ?, ?, ?)", result.getPlayerName(), playerScore, computerScore,
+                result.getWinner(), Timestamp.valueOf(gameDate), rounds);
+        return result;
+    }
+
+    private Map<String, Object> bucket(String granularity, LocalDateTime bucketStart) {
+        return jdbcTemplate.queryForMap("select * from result_rollup where granularity = ? and bucket_start = ?",
+                granularity, Timestamp.valueOf(bucketStart));
+    }
+
+    private List<Map<String, Object>> buckets() {
+        return jdbcTemplate.queryForList("select * from result_rollup order by granularity, bucket_start");
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.gameresult;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the search queries against an in-memory H2 database with the same indexes as
+ * game_result and enough rows that the planner has a real choice to make.
+ *
+ * H2 is not Postgres: the table here is not partitioned and H2's planner is not Postgres's,
+ * so the plan assertions only show that each filter has a usable index with a matching
+ * column order, not which plan production picks. Check those with EXPLAIN on Postgres.
+ */
+class ResultSearchTest {
+
+    private static final int ROWS = 10_000;
+    private static final int PLAYERS = 100;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static NamedParameterJdbcTemplate jdbc;
+    private static ResultSearch resultSearch;
+
+    @BeforeAll
+    static void createResults() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:result-search;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new NamedParameterJdbcTemplate(dataSource);
+        jdbc.getJdbcTemplate().execute("""
+                create table game_result (
+                    id bigint generated by default as identity primary key,
+                    game_id bigint,
+                    player_name varchar(255),
+                    player_score int not null,
+                    computer_score int not null,
+                    winner varchar(255),
+                    game_date timestamp,
+                    rounds int not null)
+                """);
+        jdbc.getJdbcTemplate().execute("create index idx_game_result_date_id on game_result (game_date, id)");
+        ResultSearch.INDEXES.forEach(jdbc.getJdbcTemplate()::execute);
+
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            int playerScore = random.nextInt(60) - 10;
+            int computerScore = random.nextInt(60) - 10;
+            String winner = playerScore < computerScore ? "PLAYER" : computerScore < playerScore ? "COMPUTER" : "TIE";
+            rows.add(new Object[]{"player-" + random.nextInt(PLAYERS), playerScore, computerScore, winner,
+                    Timestamp.valueOf(START.plusMinutes(random.nextInt(365 * 24 * 60))), 1 + random.nextInt(20)});
+        }
+        jdbc.getJdbcTemplate().batchUpdate(
+                "insert into game_result (player_name, player_score, computer_score, winner, game_date, rounds) values (?, ?, ?, ?, ?, ?)",
+                rows);
+        jdbc.getJdbcTemplate().execute("analyze");
+
+        resultSearch = new ResultSearch(jdbc, 30_000);
+    }
+
+    @Test
+    void playerWinsBetweenDates_ShouldUsePlayerWinnerIndex() {
+        // Arrange
+        ResultFilter filter = new ResultFilter("player-7", "PLAYER", START.plusMonths(2), START.plusMonths(4), null, null);
+
+        // Act
+        String plan = plan(resultSearch.pageQuery(filter, null, 50));
+
+        // Assert
+        assertTrue(plan.contains("idx_game_result_player_winner_date"), plan);
+    }
+
+    @Test
+    void playerBetweenDates_ShouldUsePlayerDateIndex() {
+        // Arrange
+        ResultFilter filter = new ResultFilter("player-7", null, START.plusMonths(2), START.plusMonths(4), null, 10);
+
+        // Act
+        String plan = plan(resultSearch.pageQuery(filter, null, 50));
+
+        // Assert
+        assertTrue(plan.contains("idx_game_result_player_date"), plan);
+    }
+
+    @Test
+    void datesOnly_ShouldUseDateIndex() {
+        // Arrange
+        ResultFilter filter = new ResultFilter(null, null, START.plusDays(10), START.plusDays(11), null, null);
+
+        // Act
+        String plan = plan(resultSearch.pageQuery(filter, null, 50));
+
+        // Assert
+        assertTrue(plan.contains("idx_game_result_date_id"), plan);
+    }
+
+    @Test
+    void playerCount_ShouldNotScanTable() {
+        // Arrange
+        ResultFilter filter = new ResultFilter("player-7", "COMPUTER", null, null, null, null);
+
+        // Act
+        String plan = plan(resultSearch.countQuery(filter));
+
+        // Assert
+        assertTrue(plan.contains("idx_game_result_player_winner_date"), plan);
+        assertFalse(plan.contains("tablescan"), plan);
+    }
+
+    @Test
+    void search_ShouldPageThroughAllMatchesNewestFirst() {
+        // Arrange
+        ResultFilter filter = new ResultFilter("player-7", null, null, null, null, null);
+        long total = resultSearch.count(filter);
+
+        // Act
+        Set<Long> seen = new HashSet<>();
+        LocalDateTime previous = LocalDateTime.MAX;
+        String cursor = null;
+        do {
+            ResultSearchPage page = resultSearch.search(filter, cursor, 37);
+            for (ResultSummary result : page.getResults()) {
+                assertEquals("player-7", result.getPlayerName());
+                assertFalse(result.getGameDate().isAfter(previous));
+                assertTrue(seen.add(result.getId()), "result " + result.getId() + " returned twice");
+                previous = result.getGameDate();
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Assert
+        assertTrue(total > 0);
+        assertEquals(total, seen.size());
+    }
+
+    @Test
+    void search_ShouldRejectForeignCursor() {
+        ResultFilter filter = new ResultFilter(null, null, null, null, null, null);
+        assertThrows(IllegalArgumentException.class, () -> resultSearch.search(filter, "not-a-cursor", 10));
+    }
+
+    private static String plan(ResultSearch.Query query) {
+        return jdbc.queryForObject("explain " + query.sql(), query.params(), String.class).toLowerCase();
+    }
+}